@@ -0,0 +1,63 @@
+package kr.java.springbootworker.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 구독할 Redis Stream 키 목록
+ * - shards가 1이면 redis.stream.key 하나 (기존 단일 Stream과 호환)
+ * - shards가 N이면 {key}:0 ~ {key}:N-1
+ * log-api가 보낸 resource 사전 정의는 {key}:resources Hash에 있음
+ * worker 인스턴스의 heartbeat는 {key}:consumers:{consumer name} 키 (TTL)
+ * DB 적재에 최종 실패한 로그는 {key}:dlq Stream에 보관
+ * log-api의 redis.stream.key / redis.stream.shards와 같은 값을 써야 함
+ */
+@Slf4j
+@Component
+public class LogStreamShards {
+
+    @Value("${redis.stream.key:log-stream}")
+    private String baseKey;
+
+    @Value("${redis.stream.shards:1}")
+    private int shardCount;
+
+    private List<String> keys;
+    private String resourceKey;
+
+    @PostConstruct
+    public void init() {
+        if (shardCount <= 0) {
+            log.warn("Invalid stream shard count: {}. Resetting to 1.", shardCount);
+            shardCount = 1;
+        }
+        List<String> shardKeys = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shardKeys.add(shardCount == 1 ? baseKey : baseKey + ":" + i);
+        }
+        keys = Collections.unmodifiableList(shardKeys);
+        resourceKey = baseKey + ":resources";
+    }
+
+    public List<String> keys() {
+        return keys;
+    }
+
+    public String resourceKey() {
+        return resourceKey;
+    }
+
+    public String deadLetterKey() {
+        return baseKey + ":dlq";
+    }
+
+    public String heartbeatKey(String consumerName) {
+        return baseKey + ":consumers:" + consumerName;
+    }
+}
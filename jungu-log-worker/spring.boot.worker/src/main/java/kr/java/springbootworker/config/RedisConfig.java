@@ -1,5 +1,7 @@
 package kr.java.springbootworker.config;
 
+import kr.java.springbootworker.service.BackpressureManager;
+import kr.java.springbootworker.service.LogStreamConsumer;
 import kr.java.springbootworker.service.LogStreamListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,11 +10,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.stream.Consumer;
-import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
-import org.springframework.data.redis.connection.stream.StreamOffset;
-import org.springframework.data.redis.stream.StreamMessageListenerContainer;
-import org.springframework.data.redis.stream.Subscription;
+import org.springframework.data.redis.core.RedisTemplate;
 
 import java.time.Duration;
 
@@ -21,47 +20,45 @@ import java.time.Duration;
 @RequiredArgsConstructor
 public class RedisConfig {
 
-    @Value("${redis.stream.key:log-stream}")
-    private String streamKey;
-
     @Value("${redis.stream.group:log-group}")
     private String consumerGroup;
 
-    @Value("${redis.stream.consumer:log-consumer-1}")
-    private String consumerName;
-
-    private final LogStreamListener logStreamListener;
+    // XREADGROUP 한 번에 가져올 최대 레코드 수
+    @Value("${redis.stream.read-count:500}")
+    private int readCount;
 
-    @Bean
-    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> streamMessageListenerContainer(
-            RedisConnectionFactory factory) {
+    // 새 레코드가 없을 때 XREADGROUP이 기다리는 시간
+    @Value("${redis.stream.block-ms:1000}")
+    private long blockMs;
 
-        // Consumer Group 생성 (Connection을 안전하게 닫음)
-        createConsumerGroupIfNotExists(factory);
+    private final LogStreamListener logStreamListener;
+    private final BackpressureManager backpressureManager;
+    private final LogStreamShards logStreamShards;
+    private final WorkerIdentity workerIdentity;
 
-        // ListenerContainer 옵션 설정
-        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
-                StreamMessageListenerContainer.StreamMessageListenerContainerOptions
-                        .builder()
-                        .pollTimeout(Duration.ofSeconds(1))
-                        .build();
+    // 시작/종료 순서는 WorkerLifecycle이 관리 (종료 시 읽기를 먼저 멈추고 버퍼를 비움)
+    @Bean(destroyMethod = "stop")
+    public LogStreamConsumer logStreamConsumer(RedisConnectionFactory factory,
+                                               RedisTemplate<String, String> redisTemplate) {
 
-        // ListenerContainer 생성 및 Subscription 등록
-        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
-                StreamMessageListenerContainer.create(factory, options);
+        // 샤드별 Consumer Group 생성 (Connection을 안전하게 닫음)
+        logStreamShards.keys().forEach(streamKey -> createConsumerGroupIfNotExists(factory, streamKey));
 
-        container.receive(
-                Consumer.from(consumerGroup, consumerName),
-                StreamOffset.create(streamKey, ReadOffset.lastConsumed()),
-                logStreamListener
+        // 샤드마다 소비 스레드 하나씩, XREADGROUP COUNT/BLOCK 으로 묶음 단위 소비
+        LogStreamConsumer consumer = new LogStreamConsumer(
+                redisTemplate,
+                logStreamListener,
+                backpressureManager,
+                logStreamShards.keys(),
+                Consumer.from(consumerGroup, workerIdentity.getConsumerName()),
+                readCount,
+                Duration.ofMillis(blockMs)
         );
 
-        // Spring lifecycle 관리 시작
-        container.start();
-        return container;
+        return consumer;
     }
 
-    private void createConsumerGroupIfNotExists(RedisConnectionFactory factory) {
+    private void createConsumerGroupIfNotExists(RedisConnectionFactory factory, String streamKey) {
         // try-with-resources로 Connection을 안전하게 닫음
         try (var connection = factory.getConnection()) {
             connection.streamCommands().xGroupCreate(
@@ -70,11 +67,11 @@ public class RedisConfig {
                     ReadOffset.from("0-0"),
                     true
             );
-            log.info("Redis Stream consumer group created: {}", consumerGroup);
+            log.info("Redis Stream consumer group created: {} ({})", consumerGroup, streamKey);
         } catch (Exception e) {
             // "already exists" 에러는 정상적인 상황이므로 무시
             if (e.getMessage() != null && e.getMessage().contains("BUSYGROUP")) {
-                log.debug("Consumer group already exists: {}", consumerGroup);
+                log.debug("Consumer group already exists: {} ({})", consumerGroup, streamKey);
             } else {
                 log.error("Failed to create Redis Stream consumer group", e);
             }
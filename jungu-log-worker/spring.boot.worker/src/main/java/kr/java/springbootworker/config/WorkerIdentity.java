@@ -0,0 +1,48 @@
+package kr.java.springbootworker.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 이 worker 인스턴스의 Consumer 이름
+ * - redis.stream.consumer를 지정하면 그 값을 그대로 사용
+ * - 지정하지 않으면 hostname + 기동 시 난수 (pod 재시작/스케일아웃 시 이름이 겹치지 않음)
+ * 같은 이름을 여러 인스턴스가 쓰면 PEL을 공유하게 되어 서로의 미처리 레코드를 구분할 수 없음
+ */
+@Slf4j
+@Getter
+@Component
+public class WorkerIdentity {
+
+    @Value("${redis.stream.consumer:}")
+    private String configuredName;
+
+    private String consumerName;
+
+    @PostConstruct
+    public void init() {
+        consumerName = configuredName != null && !configuredName.isBlank()
+                ? configuredName
+                : hostname() + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x100000, 0x1000000));
+        log.info("Redis Stream consumer name: {}", consumerName);
+    }
+
+    private static String hostname() {
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "log-worker";
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package kr.java.springbootworker.controller;
+
+import kr.java.springbootworker.service.AdaptiveBatchController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/batching - AdaptiveBatchController가 현재 고른 배치 크기 / flush 주기와 그 근거
+ */
+@Component
+@Endpoint(id = "batching")
+@RequiredArgsConstructor
+public class BatchingEndpoint {
+
+    private final AdaptiveBatchController batchController;
+
+    @ReadOperation
+    public AdaptiveBatchController.Snapshot batching() {
+        return batchController.snapshot();
+    }
+}
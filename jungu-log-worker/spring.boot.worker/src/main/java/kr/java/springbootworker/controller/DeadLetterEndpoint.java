@@ -0,0 +1,38 @@
+package kr.java.springbootworker.controller;
+
+import kr.java.springbootworker.service.DeadLetterStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 영구 DLQ 관리
+ * - GET  /actuator/deadletters        : 보관 중인 로그 수
+ * - POST /actuator/deadletters {"max": n} : 오래된 순서로 최대 n개(기본 10000)를 정상 적재 경로로 다시 적재
+ *   DB가 아직 실패하면 그 자리에서 멈추고 남은 로그는 그대로 둠
+ */
+@Component
+@Endpoint(id = "deadletters")
+@RequiredArgsConstructor
+public class DeadLetterEndpoint {
+
+    private static final int DEFAULT_REPLAY_MAX = 10_000;
+
+    private final DeadLetterStore deadLetterStore;
+
+    @ReadOperation
+    public Map<String, Object> deadLetters() {
+        Long size = deadLetterStore.size();
+        return Map.of("size", size != null ? size : 0L);
+    }
+
+    @WriteOperation
+    public DeadLetterStore.ReplayResult replay(@Nullable Integer max) {
+        return deadLetterStore.replay(max != null && max > 0 ? max : DEFAULT_REPLAY_MAX);
+    }
+}
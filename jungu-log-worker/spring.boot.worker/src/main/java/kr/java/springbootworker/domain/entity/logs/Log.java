@@ -1,6 +1,5 @@
 package kr.java.springbootworker.domain.entity.logs;
 
-import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -11,7 +10,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.OffsetDateTime;
 import java.util.Map;
@@ -52,13 +52,35 @@ public class Log {
     private String spanId;
     private String fingerprint; // 이슈 그룹핑 해시
 
-    @Type(JsonBinaryType.class)
-    @Column(columnDefinition = "jsonb", nullable = false)
-    private Map<String, Object> resource;
+    @Column(length = 32)
+    private String resourceRef; // log_resource 참조 (resource가 없으면 null)
 
-    @Type(JsonBinaryType.class)
-    @Column(columnDefinition = "jsonb", nullable = false)
-    private Map<String, Object> attributes;
+    // JSON 객체 원문 그대로 보관 (적재 시 파싱/재직렬화 없이 jsonb로 전달)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "attributes", columnDefinition = "jsonb", nullable = false)
+    private String attributesJson;
+
+    /**
+     * attributes를 Map으로 파싱 (필요한 기능에서만 호출, 호출할 때마다 새로 파싱함)
+     */
+    public Map<String, Object> getAttributes() {
+        return RawJson.read(attributesJson);
+    }
 
     // Todo 비즈니스 로직
+
+    public static class LogBuilder {
+
+        // Stream 레코드 등 이미 JSON 문자열인 경우 - 구조만 확인하고 그대로 사용
+        public LogBuilder attributesJson(String attributesJson) {
+            this.attributesJson = RawJson.requireObject(attributesJson);
+            return this;
+        }
+
+        // 직접 수신 API 등 Map으로 받은 경우
+        public LogBuilder attributes(Map<String, Object> attributes) {
+            this.attributesJson = RawJson.write(attributes);
+            return this;
+        }
+    }
 }
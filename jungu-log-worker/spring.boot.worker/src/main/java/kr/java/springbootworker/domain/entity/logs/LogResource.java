@@ -0,0 +1,40 @@
+package kr.java.springbootworker.domain.entity.logs;
+
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * resource 사전 (기기/OS/빌드 등 세션 내내 같은 정적 환경 정보)
+ * log 테이블은 resource_ref 로만 참조하고 실제 JSON은 여기 한 번만 저장
+ */
+@Entity(name = "log_resource")
+@Table(name = "log_resource")
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class LogResource {
+
+    @Id
+    @Column(length = 32)
+    private String resourceRef; // canonical JSON의 SHA-256 앞 16바이트 (base64url)
+
+    @Type(JsonBinaryType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private Map<String, Object> resource;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,99 @@
+package kr.java.springbootworker.domain.entity.logs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+
+/**
+ * jsonb 컬럼에 그대로 넘길 JSON 객체 문자열 다루기
+ * Stream 레코드의 JSON 문자열을 Map으로 파싱했다가 다시 직렬화하지 않도록
+ * 한 번의 문자 순회로 구조만 확인하고 원문을 그대로 사용함
+ * (값의 문법까지 보는 완전한 검증은 아님 - 잘못된 값은 DB의 jsonb 변환에서 걸러짐)
+ */
+public final class RawJson {
+
+    public static final String EMPTY_OBJECT = "{}";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private RawJson() {
+    }
+
+    /**
+     * JSON 객체 형태인지 구조만 확인 ('{'로 시작해서 '}'로 끝나고, 문자열 밖의 괄호 짝이 맞는지)
+     *
+     * @return null이나 빈 문자열이면 "{}", 아니면 입력 그대로
+     * @throws IllegalArgumentException 구조가 맞지 않는 경우
+     */
+    public static String requireObject(String json) {
+        if (json == null || json.isBlank()) {
+            return EMPTY_OBJECT;
+        }
+
+        int start = 0;
+        int end = json.length() - 1;
+        while (Character.isWhitespace(json.charAt(start))) start++;
+        while (Character.isWhitespace(json.charAt(end))) end--;
+        if (json.charAt(start) != '{' || json.charAt(end) != '}') {
+            throw new IllegalArgumentException("Not a JSON object");
+        }
+
+        int depth = 0;
+        boolean inString = false;
+        for (int i = start; i <= end; i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth < 0) {
+                        throw new IllegalArgumentException("Unbalanced JSON object");
+                    }
+                    // 최상위 객체가 끝난 뒤에 다른 값이 이어지면 안 됨
+                    if (depth == 0 && i != end) {
+                        throw new IllegalArgumentException("Trailing content after JSON object");
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        if (inString || depth != 0) {
+            throw new IllegalArgumentException("Unbalanced JSON object");
+        }
+        return json;
+    }
+
+    public static String write(Map<String, Object> value) {
+        if (value == null || value.isEmpty()) {
+            return EMPTY_OBJECT;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value is not serializable to JSON", e);
+        }
+    }
+
+    public static Map<String, Object> read(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, JSON_OBJECT);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON object", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package kr.java.springbootworker.repository;
+
+import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.domain.entity.logs.RawJson;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * COPY ... FROM STDIN (FORMAT binary) 로 log 테이블에 적재
+ * - 파라미터 바인딩 / ?::jsonb 캐스트 / 문장 파싱 없이 행을 바이너리로 바로 흘려보냄
+ * - 행을 전부 메모리에 만들지 않고 64KB 버퍼가 찰 때마다 서버로 전송
+ * 컬럼 순서와 타입은 LogJdbcRepository의 INSERT와 같음
+ * COPY에는 ON CONFLICT가 없으므로 세션 임시 테이블로 COPY한 뒤 한 문장으로 옮기면서 중복을 건너뜀
+ * (임시 테이블은 WAL을 쓰지 않고, 옮긴 행은 같은 문장에서 지워짐)
+ */
+@Component
+public class LogCopyWriter {
+
+    private static final String STAGING_TABLE = "log_copy_staging";
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE IF NOT EXISTS " + STAGING_TABLE +
+            " (LIKE log INCLUDING DEFAULTS) ON COMMIT DELETE ROWS";
+
+    private static final String MOVE_SQL = "WITH moved AS (DELETE FROM " + STAGING_TABLE + " RETURNING *) " +
+            "INSERT INTO log SELECT * FROM moved ON CONFLICT DO NOTHING";
+
+    private static final String COPY_SQL = "COPY " + STAGING_TABLE + " (log_id, project_id, session_id, user_id, severity, body, " +
+            "occurred_at, ingested_at, trace_id, span_id, fingerprint, resource_ref, attributes) " +
+            "FROM STDIN WITH (FORMAT binary)";
+
+    private static final byte[] HEADER = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,  // flags
+            0, 0, 0, 0}; // header extension length
+    private static final short COLUMN_COUNT = 13;
+    private static final int FLUSH_BYTES = 64 * 1024;
+    private static final byte JSONB_VERSION = 1;
+
+    // PostgreSQL timestamp 기준 시각 (2000-01-01T00:00:00Z)
+    private static final OffsetDateTime PG_EPOCH = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    /**
+     * 호출자가 넘긴 Connection(현재 트랜잭션)으로 COPY 실행
+     *
+     * @return log에 새로 들어간 행 수 (이미 있던 log_id는 제외)
+     */
+    public long copyAll(Connection connection, List<Log> logs) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_SQL);
+            copyToStaging(connection, logs);
+            return statement.executeUpdate(MOVE_SQL);
+        }
+    }
+
+    private void copyToStaging(Connection connection, List<Log> logs) throws SQLException, IOException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            RowBuffer buffer = new RowBuffer(FLUSH_BYTES * 2);
+            buffer.write(HEADER);
+            for (Log log : logs) {
+                writeRow(buffer, log);
+                if (buffer.size() >= FLUSH_BYTES) {
+                    copyIn.writeToCopy(buffer.bytes(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+            buffer.writeShort(-1); // trailer
+            copyIn.writeToCopy(buffer.bytes(), 0, buffer.size());
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void writeRow(RowBuffer buffer, Log log) {
+        buffer.writeShort(COLUMN_COUNT);
+        writeUuid(buffer, log.getLogId());
+        writeText(buffer, log.getProjectId());
+        writeText(buffer, log.getSessionId());
+        writeText(buffer, log.getUserId());
+        writeText(buffer, log.getSeverity());
+        writeText(buffer, log.getBody());
+        writeTimestamp(buffer, log.getOccurredAt());
+        writeTimestamp(buffer, log.getIngestedAt());
+        writeText(buffer, log.getTraceId());
+        writeText(buffer, log.getSpanId());
+        writeText(buffer, log.getFingerprint());
+        writeText(buffer, log.getResourceRef());
+        writeJsonb(buffer, log.getAttributesJson() != null ? log.getAttributesJson() : RawJson.EMPTY_OBJECT);
+    }
+
+    private void writeUuid(RowBuffer buffer, UUID value) {
+        if (value == null) {
+            buffer.writeInt(-1);
+            return;
+        }
+        buffer.writeInt(16);
+        buffer.writeLong(value.getMostSignificantBits());
+        buffer.writeLong(value.getLeastSignificantBits());
+    }
+
+    private void writeText(RowBuffer buffer, String value) {
+        if (value == null) {
+            buffer.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.writeInt(bytes.length);
+        buffer.write(bytes);
+    }
+
+    // timestamptz 바이너리 = 2000-01-01 UTC 기준 마이크로초
+    private void writeTimestamp(RowBuffer buffer, OffsetDateTime value) {
+        if (value == null) {
+            buffer.writeInt(-1);
+            return;
+        }
+        buffer.writeInt(8);
+        buffer.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, value));
+    }
+
+    // jsonb 바이너리 = 버전 바이트(1) + JSON 텍스트
+    private void writeJsonb(RowBuffer buffer, String value) {
+        byte[] json = value.getBytes(StandardCharsets.UTF_8);
+        buffer.writeInt(json.length + 1);
+        buffer.write(JSONB_VERSION);
+        buffer.write(json);
+    }
+
+    /**
+     * 재사용 가능한 big-endian 바이트 버퍼 (DataOutputStream의 동기화/스트림 오버헤드 없이)
+     */
+    private static final class RowBuffer {
+
+        private byte[] bytes;
+        private int size;
+
+        RowBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void write(byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        void write(byte[] value) {
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        void writeShort(int value) {
+            ensureCapacity(2);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+}
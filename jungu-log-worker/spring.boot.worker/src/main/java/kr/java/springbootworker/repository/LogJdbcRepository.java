@@ -1,30 +1,44 @@
 package kr.java.springbootworker.repository;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import kr.java.springbootworker.domain.entity.logs.Log;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.List;
 
+/**
+ * log 테이블 대량 적재
+ * - worker.jdbc.writer=batch (기본): JDBC batchUpdate
+ * - worker.jdbc.writer=copy : COPY BINARY (LogCopyWriter), 실패하면 savepoint로 되돌리고 batchUpdate로 재시도
+ * 두 방식 모두 이미 있는 (log_id, occurred_at)은 건너뜀 (ON CONFLICT DO NOTHING)
+ * log_id가 Stream RecordId에서 정해지므로 같은 레코드를 다시 적재해도 중복 행이 생기지 않음
+ */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
 public class LogJdbcRepository {
 
+    private static final String WRITER_COPY = "copy";
+
     private final JdbcTemplate jdbcTemplate;
-    private final ObjectMapper objectMapper;
+    private final LogCopyWriter logCopyWriter;
 
     @Value("${worker.jdbc.batch-size:1000}")
     private int batchSize;
 
+    @Value("${worker.jdbc.writer:batch}")
+    private String writer;
+
     @PostConstruct
     public void init() {
         if (batchSize <= 0) {
@@ -34,8 +48,32 @@ public class LogJdbcRepository {
 
     @Transactional
     public void saveAll(List<Log> logs) {
-        String sql = "INSERT INTO log (log_id, project_id, session_id, user_id, severity, body, occurred_at, ingested_at, trace_id, span_id, fingerprint, resource, attributes) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?::jsonb)";
+        if (WRITER_COPY.equalsIgnoreCase(writer) && copyAll(logs)) {
+            return;
+        }
+        batchInsert(logs);
+    }
+
+    // COPY가 실패해도 같은 트랜잭션 안에서 batchUpdate로 이어갈 수 있도록 savepoint까지만 롤백
+    private boolean copyAll(List<Log> logs) {
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                logCopyWriter.copyAll(connection, logs);
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (Exception e) {
+                connection.rollback(savepoint);
+                log.warn("COPY of {} logs failed. Falling back to batch insert.", logs.size(), e);
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(copied);
+    }
+
+    private void batchInsert(List<Log> logs) {
+        String sql = "INSERT INTO log (log_id, project_id, session_id, user_id, severity, body, occurred_at, ingested_at, trace_id, span_id, fingerprint, resource_ref, attributes) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb) ON CONFLICT DO NOTHING";
 
         int totalSize = logs.size();
         for (int i = 0; i < totalSize; i += batchSize) {
@@ -56,13 +94,8 @@ public class LogJdbcRepository {
                     ps.setString(9, log.getTraceId());
                     ps.setString(10, log.getSpanId());
                     ps.setString(11, log.getFingerprint());
-                    
-                    try {
-                        ps.setString(12, objectMapper.writeValueAsString(log.getResource()));
-                        ps.setString(13, objectMapper.writeValueAsString(log.getAttributes()));
-                    } catch (JsonProcessingException e) {
-                        throw new SQLException("Error converting map to json", e);
-                    }
+                    ps.setString(12, log.getResourceRef());
+                    ps.setString(13, log.getAttributesJson());
                 }
 
                 @Override
@@ -0,0 +1,115 @@
+package kr.java.springbootworker.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * log 테이블 파티션 DDL (정책은 LogPartitionManager)
+ * 파티션 이름은 호출자가 만든 값만 쓰고 사용자 입력은 받지 않으므로 식별자를 그대로 SQL에 넣음
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class LogPartitionRepository {
+
+    public static final String PARENT_TABLE = "log";
+    public static final String DEFAULT_PARTITION = "log_default";
+
+    // 여러 worker가 동시에 파티션을 만들지 않도록 하는 advisory lock 키 ('logp')
+    private static final long LOCK_KEY = 0x6C6F6770L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 현재 트랜잭션이 끝날 때까지 유지되는 잠금 (다른 worker가 잡고 있으면 false)
+     */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY));
+    }
+
+    public boolean tableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, PARENT_TABLE));
+    }
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, PARENT_TABLE));
+    }
+
+    // 파티션 테이블의 PK에는 파티션 키가 포함되어야 하므로 (log_id, occurred_at)
+    public void createPartitionedTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS log (" +
+                "log_id UUID NOT NULL, " +
+                "project_id VARCHAR(255) NOT NULL, " +
+                "session_id VARCHAR(255) NOT NULL, " +
+                "user_id VARCHAR(255), " +
+                "severity VARCHAR(255) NOT NULL, " +
+                "body TEXT NOT NULL, " +
+                "occurred_at TIMESTAMPTZ NOT NULL, " +
+                "ingested_at TIMESTAMPTZ NOT NULL, " +
+                "trace_id VARCHAR(255), " +
+                "span_id VARCHAR(255), " +
+                "fingerprint VARCHAR(255), " +
+                "resource_ref VARCHAR(32), " +
+                "attributes JSONB NOT NULL, " +
+                "PRIMARY KEY (log_id, occurred_at)" +
+                ") PARTITION BY RANGE (occurred_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_occurred_at ON log (occurred_at)");
+    }
+
+    public void createDefaultPartition() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF log DEFAULT");
+    }
+
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                String.class, PARENT_TABLE);
+    }
+
+    /**
+     * [from, to) 범위 파티션 생성
+     * 이미 default 파티션에 그 범위의 행이 있으면 PARTITION OF가 실패하므로,
+     * 빈 테이블을 만들어 그 행들을 옮긴 뒤 ATTACH 함
+     */
+    public void createPartition(String name, OffsetDateTime from, OffsetDateTime to) {
+        Boolean hasRowsInDefault = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE occurred_at >= ? AND occurred_at < ?)",
+                Boolean.class, from, to);
+
+        String bounds = "FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        if (!Boolean.TRUE.equals(hasRowsInDefault)) {
+            jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF log " + bounds);
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE occurred_at >= ? AND occurred_at < ? RETURNING *) " +
+                        "INSERT INTO " + name + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE log ATTACH PARTITION " + name + " " + bounds);
+        log.info("Moved {} rows from {} into new partition {}", moved, DEFAULT_PARTITION, name);
+    }
+
+    public void detachPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE log DETACH PARTITION " + name);
+    }
+
+    public void dropTable(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+    }
+
+    // 보관 기간이 지난 시각으로 늦게 들어와 default 파티션에 쌓인 행 정리
+    public int deleteFromDefaultBefore(OffsetDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE occurred_at < ?", cutoff);
+    }
+}
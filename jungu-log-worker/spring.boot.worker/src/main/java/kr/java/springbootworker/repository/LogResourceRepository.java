@@ -0,0 +1,24 @@
+package kr.java.springbootworker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class LogResourceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean exists(String resourceRef) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM log_resource WHERE resource_ref = ?)", Boolean.class, resourceRef);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    // 여러 worker가 같은 정의를 동시에 넣을 수 있으므로 먼저 들어간 쪽을 유지
+    public void insertIfAbsent(String resourceRef, String resourceJson) {
+        jdbcTemplate.update("INSERT INTO log_resource (resource_ref, resource, created_at) VALUES (?, ?::jsonb, now()) " +
+                "ON CONFLICT (resource_ref) DO NOTHING", resourceRef, resourceJson);
+    }
+}
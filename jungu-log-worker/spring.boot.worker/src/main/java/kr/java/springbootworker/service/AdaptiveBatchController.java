@@ -0,0 +1,163 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * flush 배치 크기 / flush 주기 자동 조절 (AIMD)
+ * writer가 배치를 적재할 때마다 onFlush로 적재 지연을 받아서
+ * - 목표 지연 초과: 배치 크기는 절반으로, flush 주기는 두 배로 (DB 부하를 바로 낮춤)
+ * - 목표 이내 + 배치가 가득 참: 배치 크기를 step만큼 늘림 (처리량 증가)
+ * - 목표 이내 + 배치가 덜 참: 유입이 적은 상태이므로 flush 주기를 줄여 적재 대기 시간을 줄임
+ * - 적재 실패: 목표 지연 초과와 같이 배치 크기 절반, flush 주기 두 배
+ * 모든 값은 worker.bulk.adaptive.* 범위 안에서만 움직임
+ * enabled=false면 worker.bulk.size / worker.bulk.flush-interval-ms 고정값을 그대로 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveBatchController {
+
+    private static final double THROUGHPUT_ALPHA = 0.2;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${worker.bulk.adaptive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${worker.bulk.adaptive.target-latency-ms:200}")
+    private long targetLatencyMs;
+
+    @Value("${worker.bulk.adaptive.min-size:100}")
+    private int minBatchSize;
+
+    @Value("${worker.bulk.adaptive.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${worker.bulk.adaptive.size-step:100}")
+    private int sizeStep;
+
+    @Value("${worker.bulk.adaptive.min-interval-ms:100}")
+    private long minIntervalMs;
+
+    @Value("${worker.bulk.adaptive.max-interval-ms:2000}")
+    private long maxIntervalMs;
+
+    @Value("${worker.bulk.adaptive.interval-step-ms:50}")
+    private long intervalStepMs;
+
+    private volatile int batchSize;
+    private volatile long flushIntervalMs;
+    private volatile long lastLatencyMs;
+    private volatile double throughputPerSec;
+
+    /**
+     * LogBufferService 초기화 시 초기값과 버퍼 용량을 넘겨받아 시작
+     * (배치가 버퍼보다 클 수는 없으므로 max-size는 버퍼 용량으로 제한)
+     */
+    public void start(int initialBatchSize, long initialIntervalMs, int bufferCapacity) {
+        batchSize = initialBatchSize;
+        flushIntervalMs = initialIntervalMs;
+
+        if (enabled) {
+            maxBatchSize = Math.min(maxBatchSize, bufferCapacity);
+            if (minBatchSize <= 0 || minBatchSize > maxBatchSize) {
+                log.warn("Invalid adaptive batch bounds: [{}, {}]. Resetting min size to 1.", minBatchSize, maxBatchSize);
+                minBatchSize = 1;
+            }
+            if (minIntervalMs <= 0 || minIntervalMs > maxIntervalMs) {
+                log.warn("Invalid adaptive interval bounds: [{}, {}]. Using max interval as min.", minIntervalMs, maxIntervalMs);
+                minIntervalMs = maxIntervalMs;
+            }
+            batchSize = clamp(initialBatchSize, minBatchSize, maxBatchSize);
+            flushIntervalMs = clamp(initialIntervalMs, minIntervalMs, maxIntervalMs);
+        }
+
+        Gauge.builder("worker.bulk.batch.size", this, AdaptiveBatchController::getBatchSize)
+                .description("현재 flush 배치 크기")
+                .register(meterRegistry);
+
+        Gauge.builder("worker.bulk.flush.interval", this, AdaptiveBatchController::getFlushIntervalMs)
+                .description("현재 flush 주기")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * writer가 배치 하나를 적재한 뒤 호출
+     *
+     * @param rows      적재한 로그 수
+     * @param latencyMs 적재에 걸린 시간
+     */
+    public synchronized void onFlush(int rows, long latencyMs) {
+        // writer가 여러 개라 동시에 호출될 수 있음 → 조정은 한 번에 하나씩 (배치당 한 번이라 경합은 적음)
+        lastLatencyMs = latencyMs;
+        double current = rows * 1000.0 / Math.max(1, latencyMs);
+        throughputPerSec = throughputPerSec == 0 ? current : throughputPerSec + THROUGHPUT_ALPHA * (current - throughputPerSec);
+
+        if (!enabled) {
+            return;
+        }
+
+        if (latencyMs > targetLatencyMs) {
+            decrease();
+        } else if (rows >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize + sizeStep);
+        } else {
+            flushIntervalMs = Math.max(minIntervalMs, flushIntervalMs - intervalStepMs);
+        }
+    }
+
+    /**
+     * writer의 적재가 실패(또는 타임아웃)한 뒤 호출 - 처리량에는 반영하지 않고 바로 줄임
+     */
+    public synchronized void onFailure(long elapsedMs) {
+        lastLatencyMs = elapsedMs;
+        if (!enabled) {
+            return;
+        }
+        decrease();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * writer가 배치 배열을 미리 잡아둘 크기 (배치 크기가 늘어나도 다시 할당하지 않도록 상한으로)
+     */
+    public int getMaxBatchSize() {
+        return enabled ? maxBatchSize : batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(enabled, batchSize, flushIntervalMs, lastLatencyMs, throughputPerSec,
+                targetLatencyMs, minBatchSize, maxBatchSize, minIntervalMs, maxIntervalMs);
+    }
+
+    private void decrease() {
+        batchSize = Math.max(minBatchSize, batchSize / 2);
+        flushIntervalMs = Math.min(maxIntervalMs, flushIntervalMs * 2);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public record Snapshot(boolean enabled, int batchSize, long flushIntervalMs, long lastLatencyMs,
+                           double throughputPerSec, long targetLatencyMs, int minBatchSize, int maxBatchSize,
+                           long minIntervalMs, long maxIntervalMs) {
+    }
+}
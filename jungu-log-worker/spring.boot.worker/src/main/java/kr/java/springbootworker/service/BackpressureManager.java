@@ -0,0 +1,214 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * 크레딧 기반 흐름 제어
+ * - DB 적재 지연(EWMA)과 버퍼 점유율로 상태(NORMAL/DEGRADED/CRITICAL)를 판단
+ * - Stream Consumer는 읽기 전에 크레딧을 받아 그만큼만 XREADGROUP COUNT로 읽음
+ *   (크레딧 = 버퍼 빈자리 - 이미 발급된 크레딧, DEGRADED면 절반)
+ * - CRITICAL이면 크레딧을 주지 않고 Consumer를 멈춰 두었다가, writer가 적재를 마치면 깨워서 재개
+ *   (고정 시간 sleep 대신 회복되는 즉시 소비가 다시 시작됨)
+ * - 적재 실패도 신호로 사용: 실패는 critical 지연 이상의 표본으로 반영하고,
+ *   연속 실패가 failure-threshold에 닿으면 성공하거나 window가 지날 때까지 CRITICAL
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackpressureManager {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${worker.backpressure.latency.degraded-ms:500}")
+    private long degradedLatencyMs;
+
+    @Value("${worker.backpressure.latency.critical-ms:2000}")
+    private long criticalLatencyMs;
+
+    @Value("${worker.backpressure.occupancy.degraded:0.5}")
+    private double degradedOccupancy;
+
+    @Value("${worker.backpressure.occupancy.critical:0.9}")
+    private double criticalOccupancy;
+
+    // 마지막 적재 이후 이 시간이 지나면 지연 측정값을 더 이상 반영하지 않음
+    // (버퍼가 비어 writer가 쉬는 동안 예전 지연 때문에 계속 멈춰 있지 않도록)
+    @Value("${worker.backpressure.latency.window-ms:10000}")
+    private long latencyWindowMs;
+
+    // 연속으로 이만큼 적재에 실패하면 CRITICAL (DB 장애 중에는 읽기를 멈춰 재시도 큐 / DLQ로 흘려보내지 않도록)
+    @Value("${worker.backpressure.failure-threshold:3}")
+    private int failureThreshold;
+
+    private final Object monitor = new Object();
+    private final AtomicInteger reservedCredits = new AtomicInteger();
+    private IntSupplier bufferSize = () -> 0;
+    private int bufferCapacity = Integer.MAX_VALUE;
+
+    private volatile double avgLatencyMs;
+    private volatile long lastSampleNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile BackpressureState lastState = BackpressureState.NORMAL;
+    private Counter pauseCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("worker.backpressure.state", this, m -> m.getState().ordinal())
+                .description("흐름 제어 상태 (0=NORMAL, 1=DEGRADED, 2=CRITICAL)")
+                .register(meterRegistry);
+
+        Gauge.builder("worker.backpressure.latency.avg", this, BackpressureManager::getAvgLatencyMs)
+                .description("DB 적재 지연 EWMA")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        Gauge.builder("worker.backpressure.credits.reserved", reservedCredits, AtomicInteger::get)
+                .description("발급되어 아직 버퍼에 들어가지 않은 읽기 크레딧")
+                .register(meterRegistry);
+
+        pauseCounter = Counter.builder("worker.backpressure.pauses")
+                .description("CRITICAL 상태로 Stream 소비를 멈춘 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 점유율 계산에 쓸 버퍼 (LogBufferService 초기화 시 등록)
+     */
+    public void bindBuffer(IntSupplier size, int capacity) {
+        this.bufferSize = size;
+        this.bufferCapacity = capacity;
+    }
+
+    /**
+     * writer가 배치 하나를 적재한 뒤 호출 → 상태를 다시 계산하고 멈춰있는 Consumer를 깨움
+     */
+    public void recordLatency(long ms) {
+        consecutiveFailures.set(0);
+        addSample(ms);
+    }
+
+    /**
+     * writer의 적재가 실패(또는 타임아웃)한 뒤 호출
+     *
+     * @param elapsedMs 실패까지 걸린 시간 (critical 지연보다 짧으면 critical 지연으로 반영)
+     */
+    public void recordFailure(long elapsedMs) {
+        consecutiveFailures.incrementAndGet();
+        addSample(Math.max(elapsedMs, criticalLatencyMs));
+    }
+
+    private void addSample(long ms) {
+        double current = avgLatencyMs;
+        avgLatencyMs = lastSampleNanos == 0 ? ms : current + EWMA_ALPHA * (ms - current);
+        lastSampleNanos = System.nanoTime();
+        signal();
+    }
+
+    public BackpressureState getState() {
+        BackpressureState state = max(latencyState(), occupancyState());
+        if (state != lastState) {
+            log.info("[Backpressure] state {} -> {} (avg={} ms, buffer={}/{})",
+                    lastState, state, String.format("%.1f", avgLatencyMs), bufferSize.getAsInt(), bufferCapacity);
+            lastState = state;
+        }
+        return state;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    /**
+     * 최대 requested 개의 읽기 크레딧을 발급, 당장 줄 수 없으면 maxWait 동안 멈춰서 기다림
+     * 받은 크레딧은 읽은 레코드를 버퍼에 넣은 뒤 releaseCredits로 반납해야 함
+     *
+     * @return 발급된 크레딧 (0이면 maxWait 안에 회복되지 않음)
+     */
+    public int acquireCredits(int requested, Duration maxWait) throws InterruptedException {
+        int credits = tryAcquireCredits(requested);
+        if (credits > 0) {
+            return credits;
+        }
+
+        pauseCounter.increment();
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        synchronized (monitor) {
+            while ((credits = tryAcquireCredits(requested)) == 0) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return 0;
+                }
+                monitor.wait(remainingMs);
+            }
+        }
+        return credits;
+    }
+
+    public void releaseCredits(int credits) {
+        reservedCredits.addAndGet(-credits);
+    }
+
+    int tryAcquireCredits(int requested) {
+        BackpressureState state = getState();
+        if (state == BackpressureState.CRITICAL) {
+            return 0;
+        }
+        int limit = state == BackpressureState.DEGRADED ? Math.max(1, requested / 2) : requested;
+
+        while (true) {
+            int reserved = reservedCredits.get();
+            int free = bufferCapacity - bufferSize.getAsInt() - reserved;
+            int credits = Math.min(limit, free);
+            if (credits <= 0) {
+                return 0;
+            }
+            if (reservedCredits.compareAndSet(reserved, reserved + credits)) {
+                return credits;
+            }
+        }
+    }
+
+    private void signal() {
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    private BackpressureState latencyState() {
+        if (lastSampleNanos == 0
+                || System.nanoTime() - lastSampleNanos > TimeUnit.MILLISECONDS.toNanos(latencyWindowMs)) {
+            return BackpressureState.NORMAL;
+        }
+        double avg = avgLatencyMs;
+        if (consecutiveFailures.get() >= failureThreshold || avg >= criticalLatencyMs) {
+            return BackpressureState.CRITICAL;
+        }
+        return avg >= degradedLatencyMs ? BackpressureState.DEGRADED : BackpressureState.NORMAL;
+    }
+
+    private BackpressureState occupancyState() {
+        double occupancy = (double) bufferSize.getAsInt() / bufferCapacity;
+        if (occupancy >= criticalOccupancy) {
+            return BackpressureState.CRITICAL;
+        }
+        return occupancy >= degradedOccupancy ? BackpressureState.DEGRADED : BackpressureState.NORMAL;
+    }
+
+    private static BackpressureState max(BackpressureState a, BackpressureState b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,13 @@
+package kr.java.springbootworker.service;
+
+/**
+ * BackpressureManager가 판단한 DB 적재 여유 상태 (worker.backpressure.state 게이지 값은 ordinal)
+ */
+public enum BackpressureState {
+    // 요청한 만큼 읽기 허용
+    NORMAL,
+    // 읽기 크레딧을 줄여서 소비 속도를 낮춤
+    DEGRADED,
+    // 크레딧 발급 중단 → Stream 소비를 멈추고 회복되면 재개
+    CRITICAL
+}
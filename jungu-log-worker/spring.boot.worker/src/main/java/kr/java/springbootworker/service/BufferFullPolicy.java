@@ -0,0 +1,13 @@
+package kr.java.springbootworker.service;
+
+/**
+ * LogBufferService 버퍼가 가득 찼을 때 새 로그 처리 방식 (worker.buffer.full-policy)
+ */
+public enum BufferFullPolicy {
+    // 자리가 날 때까지 호출 스레드를 대기 (Stream 소비가 느려져 Redis에 그대로 남음)
+    BLOCK,
+    // 가장 오래된 로그를 버리고 새 로그를 넣음 (ACK 전이므로 Stream 레코드는 PEL에 남아 재처리 대상)
+    DROP_OLDEST,
+    // 새 로그를 DLQ(재시도 큐)로 넘겨 retry 스케줄러가 적재
+    SPILL
+}
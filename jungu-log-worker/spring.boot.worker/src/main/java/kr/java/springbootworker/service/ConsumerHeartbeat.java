@@ -0,0 +1,70 @@
+package kr.java.springbootworker.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.config.WorkerIdentity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * worker 생존 신호
+ * 주기적으로 {key}:consumers:{consumer name} 키를 TTL과 함께 갱신하고,
+ * 키가 만료된 Consumer는 죽은 것으로 보고 LogReclaimService가 정리함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsumerHeartbeat {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LogStreamShards logStreamShards;
+    private final WorkerIdentity workerIdentity;
+
+    // heartbeat 주기의 몇 배로 잡아서 GC 멈춤이나 일시적인 Redis 지연으로 죽은 것으로 오인하지 않게 함
+    @Value("${worker.heartbeat.ttl-ms:30000}")
+    private long ttlMs;
+
+    private String startedAt;
+
+    @PostConstruct
+    public void init() {
+        startedAt = OffsetDateTime.now().toString();
+        beat();
+    }
+
+    @Scheduled(fixedDelayString = "${worker.heartbeat.interval-ms:5000}")
+    public void beat() {
+        try {
+            redisTemplate.opsForValue().set(
+                    logStreamShards.heartbeatKey(workerIdentity.getConsumerName()), startedAt, Duration.ofMillis(ttlMs));
+        } catch (Exception e) {
+            log.warn("Failed to send consumer heartbeat: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAlive(String consumerName) {
+        if (consumerName.equals(workerIdentity.getConsumerName())) {
+            return true;
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(logStreamShards.heartbeatKey(consumerName)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 정상 종료는 바로 알려서 남은 PEL을 다른 worker가 TTL/min-idle을 기다리지 않고 가져가게 함
+        // (LogReclaimService가 heartbeat 없는 Consumer의 PEL은 dead-consumer-min-idle 기준으로 XCLAIM)
+        try {
+            redisTemplate.delete(logStreamShards.heartbeatKey(workerIdentity.getConsumerName()));
+        } catch (Exception e) {
+            log.warn("Failed to remove consumer heartbeat: {}", e.getMessage());
+        }
+    }
+}
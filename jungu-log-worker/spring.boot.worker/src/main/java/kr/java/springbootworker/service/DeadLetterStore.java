@@ -0,0 +1,228 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.repository.LogJdbcRepository;
+import kr.java.springbootworker.service.LogBufferService.LogWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB 적재에 최종 실패한 로그의 영구 보관소 ({key}:dlq Redis Stream)
+ * - 레코드는 LogRecordCodec 필드 + 실패 정보(원본 Stream/ID, 사유, 시각)
+ *   디코딩조차 못한 Stream 레코드(appendRaw)는 원본 필드를 그대로 보관 (replay 때도 디코딩되지 않으면 남겨 둠)
+ * - 이미 원본 Stream에서 ACK된 로그만 들어오므로 MAXLEN 같은 자동 정리는 하지 않음
+ *   max-length에 닿으면 append를 거부 → 호출자는 원본 레코드를 ACK하지 않고 PEL에 남겨 둠
+ *   (길이 확인과 XADD가 원자적이지 않아 writer 수 x 배치 크기만큼은 넘을 수 있음)
+ * - replay는 정상 적재 경로(LogJdbcRepository)로 묶음 적재 후 XDEL, DB 오류가 나면 거기서 멈춤
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterStore {
+
+    public static final String SOURCE_STREAM = "dlq.sourceStream";
+    public static final String SOURCE_ID = "dlq.sourceId";
+    public static final String REASON = "dlq.reason";
+    public static final String FAILED_AT = "dlq.failedAt";
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LogStreamShards logStreamShards;
+    private final LogRecordCodec logRecordCodec;
+    private final LogJdbcRepository logJdbcRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${worker.dlq.max-length:1000000}")
+    private long maxLength;
+
+    @Value("${worker.dlq.replay-batch-size:1000}")
+    private int replayBatchSize;
+
+    private Counter appendedCounter;
+    private Counter rejectedCounter;
+    private Counter replayedCounter;
+
+    @PostConstruct
+    public void init() {
+        appendedCounter = Counter.builder("worker.dlq.appended")
+                .description("영구 DLQ에 보관한 로그 수")
+                .register(meterRegistry);
+
+        rejectedCounter = Counter.builder("worker.dlq.rejected")
+                .description("영구 DLQ가 가득 차서 보관을 거부한 로그 수 (원본은 PEL에 남음)")
+                .register(meterRegistry);
+
+        replayedCounter = Counter.builder("worker.dlq.replayed")
+                .description("영구 DLQ에서 다시 적재한 로그 수")
+                .register(meterRegistry);
+
+        Gauge.builder("worker.dlq.length", this, DeadLetterStore::sizeOrNaN)
+                .description("영구 DLQ Stream 길이")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한 번의 pipeline으로 보관 (실패하면 예외 → 호출자는 원본 Stream 레코드를 ACK하지 않아야 함)
+     *
+     * @throws IllegalStateException 보관하면 max-length를 넘는 경우 (아무것도 기록하지 않음)
+     */
+    public void append(List<LogWrapper> wrappers, String reason) {
+        if (wrappers.isEmpty()) {
+            return;
+        }
+
+        String key = logStreamShards.deadLetterKey();
+        ensureCapacity(key, wrappers.size());
+
+        String failedAt = OffsetDateTime.now().toString();
+        String trimmedReason = trimReason(reason);
+        RedisSerializer<String> serializer = RedisSerializer.string();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (LogWrapper wrapper : wrappers) {
+                Map<String, String> fields = new LinkedHashMap<>(logRecordCodec.encode(wrapper.log()));
+                if (wrapper.recordId() != null) {
+                    fields.put(SOURCE_STREAM, wrapper.streamKey());
+                    fields.put(SOURCE_ID, wrapper.recordId().getValue());
+                }
+                fields.put(REASON, trimmedReason);
+                fields.put(FAILED_AT, failedAt);
+
+                Map<byte[], byte[]> raw = new HashMap<>(fields.size() * 2);
+                fields.forEach((k, v) -> raw.put(serializer.serialize(k), serializer.serialize(v)));
+                connection.streamCommands().xAdd(
+                        StreamRecords.newRecord().in(serializer.serialize(key)).ofMap(raw));
+            }
+            return null;
+        });
+        appendedCounter.increment(wrappers.size());
+    }
+
+    /**
+     * 디코딩할 수 없는 Stream 레코드를 원본 필드 그대로 보관 (성공한 뒤에만 원본을 ACK해야 함)
+     *
+     * @throws IllegalStateException 보관하면 max-length를 넘는 경우
+     */
+    public void appendRaw(MapRecord<String, String, String> record, String reason) {
+        String key = logStreamShards.deadLetterKey();
+        ensureCapacity(key, 1);
+
+        Map<String, String> fields = new LinkedHashMap<>(record.getValue());
+        fields.put(SOURCE_STREAM, record.getStream());
+        fields.put(SOURCE_ID, record.getId().getValue());
+        fields.put(REASON, trimReason(reason));
+        fields.put(FAILED_AT, OffsetDateTime.now().toString());
+
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        Map<byte[], byte[]> raw = new HashMap<>(fields.size() * 2);
+        fields.forEach((k, v) -> raw.put(serializer.serialize(k), serializer.serialize(v)));
+        redisTemplate.execute((RedisCallback<RecordId>) connection -> connection.streamCommands().xAdd(
+                StreamRecords.newRecord().in(serializer.serialize(key)).ofMap(raw)));
+        appendedCounter.increment();
+    }
+
+    private void ensureCapacity(String key, int count) {
+        Long size = size();
+        if (size != null && size + count > maxLength) {
+            rejectedCounter.increment(count);
+            throw new IllegalStateException("Durable DLQ " + key + " is full (" + size + "/" + maxLength + ")");
+        }
+    }
+
+    private static String trimReason(String reason) {
+        return reason == null ? "unknown"
+                : reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    public Long size() {
+        return redisTemplate.opsForStream().size(logStreamShards.deadLetterKey());
+    }
+
+    /**
+     * 보관된 로그를 오래된 순서로 최대 max 개 다시 적재
+     * 디코딩할 수 없는 항목은 건너뛰고 DLQ에 남겨 둠
+     */
+    public ReplayResult replay(int max) {
+        String key = logStreamShards.deadLetterKey();
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+
+        int replayed = 0;
+        int skipped = 0;
+        String error = null;
+        Range<String> range = Range.unbounded();
+
+        while (replayed + skipped < max) {
+            int count = Math.min(replayBatchSize, max - replayed - skipped);
+            List<MapRecord<String, String, String>> entries = streamOps.range(key, range, Limit.limit().count(count));
+            if (entries == null || entries.isEmpty()) {
+                break;
+            }
+
+            List<Log> logs = new ArrayList<>(entries.size());
+            List<RecordId> ids = new ArrayList<>(entries.size());
+            for (MapRecord<String, String, String> entry : entries) {
+                try {
+                    logs.add(logRecordCodec.decode(entry.getValue()));
+                    ids.add(entry.getId());
+                } catch (Exception e) {
+                    skipped++;
+                    log.warn("[DLQ] Cannot decode entry {}. Leaving it in place.", entry.getId(), e);
+                }
+            }
+
+            try {
+                if (!logs.isEmpty()) {
+                    logJdbcRepository.saveAll(logs);
+                    streamOps.delete(key, ids.toArray(new RecordId[0]));
+                    replayed += logs.size();
+                    replayedCounter.increment(logs.size());
+                }
+            } catch (Exception e) {
+                error = e.getMessage();
+                log.error("[DLQ] Replay stopped after {} logs. DB is still failing.", replayed, e);
+                break;
+            }
+
+            // 건너뛴 항목 다음부터 이어서 조회 (지운 항목은 다시 나오지 않음)
+            range = Range.rightUnbounded(Range.Bound.exclusive(entries.get(entries.size() - 1).getId().getValue()));
+        }
+
+        return new ReplayResult(replayed, skipped, size(), error);
+    }
+
+    private double sizeOrNaN() {
+        try {
+            Long size = size();
+            return size != null ? size : Double.NaN;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    public record ReplayResult(int replayed, int skipped, Long remaining, String error) {
+    }
+}
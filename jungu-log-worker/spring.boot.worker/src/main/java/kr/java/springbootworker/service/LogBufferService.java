@@ -1,8 +1,11 @@
 package kr.java.springbootworker.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import kr.java.springbootworker.domain.entity.logs.Log;
 import kr.java.springbootworker.dto.request.RawLogRequest;
 import kr.java.springbootworker.repository.LogJdbcRepository;
@@ -15,25 +18,40 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
+/**
+ * 로그 버퍼 + 전용 writer 스레드
+ * - Stream listener / API 스레드는 버퍼에 넣기만 하고 DB 적재를 기다리지 않음
+ * - writer 스레드가 batchSize 만큼 모이거나 flush-interval이 지나면 꺼내서 INSERT 후 XACK
+ * - writer가 여러 개면 한 배치가 commit 되는 동안 다음 writer가 다음 배치를 꺼내 적재 (double buffering)
+ *   (writer마다 배치 배열을 하나씩 재사용하므로 두 배치가 서로의 배열을 건드리지 않음)
+ * - 배치 크기와 flush 주기는 AdaptiveBatchController가 적재 지연을 보고 계속 조절
+ * - 적재 실패분은 메모리 재시도 큐(크기 제한)에서 재시도하고, 큐가 넘치거나 재시도를 다 쓰면 영구 DLQ(DeadLetterStore)로 옮김
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LogBufferService {
 
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
     private final LogJdbcRepository logJdbcRepository;
     private final RedisTemplate<String, String> redisTemplate;
     private final BackpressureManager backpressureManager;
+    private final AdaptiveBatchController batchController;
     private final MeterRegistry meterRegistry;
     private final LogMapper logMapper;
-    private final ConcurrentLinkedQueue<LogWrapper> buffer = new ConcurrentLinkedQueue<>();
-    private final ConcurrentLinkedQueue<LogWrapper> deadLetterQueue = new ConcurrentLinkedQueue<>();
-    private final AtomicBoolean isFlushing = new AtomicBoolean(false);
+    private final DeadLetterStore deadLetterStore;
     private final AtomicBoolean isRetrying = new AtomicBoolean(false);
 
     @Value("${worker.bulk.size:1000}")
@@ -42,45 +60,253 @@ public class LogBufferService {
     @Value("${worker.buffer.max-size:10000}")
     private int maxBufferSize;
 
+    @Value("${worker.buffer.full-policy:BLOCK}")
+    private BufferFullPolicy fullPolicy;
+
+    @Value("${worker.bulk.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    // DB 적재 스레드 수 (2 이상이면 commit과 다음 배치 적재가 겹침)
+    @Value("${worker.flush.writers:2}")
+    private int writerCount;
+
     @Value("${worker.dlq.max-retry:3}")
     private int maxRetryCount;
 
-    @Value("${redis.stream.key:log-stream}")
-    private String streamKey;
+    // 메모리 재시도 큐 최대 크기 (넘치는 로그는 바로 영구 DLQ로)
+    @Value("${worker.dlq.memory-size:10000}")
+    private int retryQueueSize;
 
     @Value("${redis.stream.group:log-group}")
     private String consumerGroup;
 
+    private LogRingBuffer<LogWrapper> buffer;
+    private LinkedBlockingQueue<LogWrapper> deadLetterQueue;
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+
+    private final List<Thread> writers = new ArrayList<>();
+    private final LongAdder writerBusyNanos = new LongAdder();
+    private volatile boolean running;
+    private long lastUtilisationSampleNanos;
+    private long lastUtilisationBusyNanos;
+
     @PostConstruct
     public void init() {
         if (batchSize <= 0) {
             log.warn("Invalid batch size: {}. Resetting to 1000.", batchSize);
             batchSize = 1000;
         }
+        if (maxBufferSize < batchSize) {
+            log.warn("Invalid buffer max size: {}. Resetting to batch size {}.", maxBufferSize, batchSize);
+            maxBufferSize = batchSize;
+        }
+
+        if (writerCount <= 0) {
+            log.warn("Invalid writer count: {}. Resetting to 2.", writerCount);
+            writerCount = 2;
+        }
+
+        if (retryQueueSize <= 0) {
+            log.warn("Invalid DLQ memory size: {}. Resetting to 10000.", retryQueueSize);
+            retryQueueSize = 10000;
+        }
+
+        buffer = new LogRingBuffer<>(maxBufferSize);
+        deadLetterQueue = new LinkedBlockingQueue<>(retryQueueSize);
+        backpressureManager.bindBuffer(buffer::size, buffer.capacity());
+        batchController.start(batchSize, flushIntervalMs, buffer.capacity());
 
-        Gauge.builder("worker.buffer.size", buffer, ConcurrentLinkedQueue::size)
+        Gauge.builder("worker.buffer.size", buffer, LogRingBuffer::size)
                 .description("인메모리 로그 버퍼 현재 크기")
                 .register(meterRegistry);
 
-        Gauge.builder("worker.dlq.size", deadLetterQueue, ConcurrentLinkedQueue::size)
-                .description("Dead Letter Queue 현재 크기")
+        droppedCounter = Counter.builder("worker.buffer.dropped")
+                .description("버퍼가 가득 차서 버린 로그 수 (DROP_OLDEST)")
                 .register(meterRegistry);
+
+        spilledCounter = Counter.builder("worker.buffer.spilled")
+                .description("버퍼가 가득 차서 DLQ로 넘긴 로그 수 (SPILL)")
+                .register(meterRegistry);
+
+        Gauge.builder("worker.dlq.size", deadLetterQueue, LinkedBlockingQueue::size)
+                .description("메모리 재시도 큐 현재 크기")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("worker.writer.busy", writerBusyNanos, busy -> busy.sum() / 1e9)
+                .description("writer 스레드가 DB 적재/ACK에 쓴 누적 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("worker.writer.utilisation", this, LogBufferService::sampleUtilisation)
+                .description("직전 수집 이후 writer 스레드가 바빴던 시간 비율 (0~1)")
+                .register(meterRegistry);
+
+        startWriters();
+    }
+
+    private void startWriters() {
+        running = true;
+        lastUtilisationSampleNanos = System.nanoTime();
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::runWriter, "log-writer-" + i);
+            writer.setDaemon(true);
+            writers.add(writer);
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 종료 시점까지 버퍼에 들어온 로그는 writer가 모두 적재하고 종료
+        // (보통은 WorkerLifecycle.stop()의 drain에서 이미 끝난 상태)
+        running = false;
+        writers.forEach(LockSupport::unpark);
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * 종료 시 버퍼와 메모리 재시도 큐를 timeout 안에서 최대한 적재하고 ACK (읽기를 멈춘 뒤에 호출)
+     * - writer는 버퍼가 빌 때까지 남은 배치를 모두 적재하고 끝남
+     * - 재시도 큐는 남은 시간 동안 재시도하고, 재시도를 다 쓰면 영구 DLQ로 옮김
+     * timeout까지 남은 로그는 ACK되지 않은 채 PEL에 남아 다른 worker가 회수
+     * (log_id가 RecordId로 정해지므로 이미 적재된 로그를 다시 받아도 중복되지 않음)
+     */
+    public DrainResult drain(Duration timeout) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + timeout.toNanos();
+        int before = pendingCount();
+
+        running = false;
+        signalWriters();
+        for (Thread writer : writers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(writer, remaining);
+            }
+        }
+
+        while (!deadLetterQueue.isEmpty() && System.nanoTime() < deadline) {
+            retryDeadLetterQueue();
+            // 스케줄된 재시도가 실행 중이면 끝날 때까지 잠깐씩 대기
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+
+        int pending = pendingCount();
+        return new DrainResult(before - pending, pending,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private int pendingCount() {
+        return buffer.size() + deadLetterQueue.size();
+    }
+
+    private void runWriter() {
+        LogWrapper[] batch = new LogWrapper[batchController.getMaxBatchSize()];
+        long lastFlush = System.nanoTime();
+
+        while (running || !buffer.isEmpty()) {
+            int currentBatchSize = batchController.getBatchSize();
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(batchController.getFlushIntervalMs());
+            long waited = System.nanoTime() - lastFlush;
+            if (running && buffer.size() < currentBatchSize && waited < intervalNanos) {
+                // add()가 batchSize를 채우면 깨워줌, 아니면 flush-interval까지 대기
+                LockSupport.parkNanos(this, intervalNanos - waited);
+                continue;
+            }
+
+            try {
+                drainAndSave(batch, currentBatchSize);
+            } catch (Exception e) {
+                log.error("Unexpected error in log writer loop", e);
+            }
+            lastFlush = System.nanoTime();
+        }
+    }
+
+    private void signalWriters() {
+        for (Thread writer : writers) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private synchronized double sampleUtilisation() {
+        long now = System.nanoTime();
+        long busy = writerBusyNanos.sum();
+        long elapsed = now - lastUtilisationSampleNanos;
+        double utilisation = elapsed <= 0 || writers.isEmpty()
+                ? 0
+                : (double) (busy - lastUtilisationBusyNanos) / (elapsed * writers.size());
+        lastUtilisationSampleNanos = now;
+        lastUtilisationBusyNanos = busy;
+        return Math.min(1.0, utilisation);
     }
 
     // API 요청용 (RecordId 없음)
     public void add(Log logEntity) {
-        add(logEntity, null);
+        add(logEntity, null, null);
     }
 
-    public void add(Log logEntity, RecordId recordId) {
-        if (buffer.size() >= maxBufferSize) {
-            log.warn("Buffer is full (size: {}). Dropping log.", buffer.size());
+    // Stream 소비용 (ACK를 보낼 샤드 Stream 키와 RecordId)
+    public void add(Log logEntity, String streamKey, RecordId recordId) {
+        LogWrapper wrapper = new LogWrapper(logEntity, streamKey, recordId);
+        if (!buffer.offer(wrapper) && !handleFullBuffer(wrapper)) {
             return;
         }
 
-        buffer.offer(new LogWrapper(logEntity, recordId));
-        if (buffer.size() >= batchSize) {
-            flush();
+        if (buffer.size() >= batchController.getBatchSize()) {
+            signalWriters();
+        }
+    }
+
+    // Stream 묶음 소비용 (XREADGROUP 한 번에 읽은 레코드들, writer는 마지막에 한 번만 깨움)
+    public void addAll(List<LogWrapper> wrappers) {
+        for (LogWrapper wrapper : wrappers) {
+            if (!buffer.offer(wrapper)) {
+                handleFullBuffer(wrapper);
+            }
+        }
+
+        if (buffer.size() >= batchController.getBatchSize()) {
+            signalWriters();
+        }
+    }
+
+    /**
+     * @return wrapper가 버퍼에 들어갔으면 true
+     */
+    private boolean handleFullBuffer(LogWrapper wrapper) {
+        switch (fullPolicy) {
+            case DROP_OLDEST -> {
+                while (!buffer.offer(wrapper)) {
+                    LogWrapper dropped = buffer.poll();
+                    if (dropped != null) {
+                        droppedCounter.increment();
+                        log.warn("Buffer is full (capacity: {}). Dropped oldest log. RecordId: {}",
+                                buffer.capacity(), dropped.recordId());
+                    }
+                }
+                return true;
+            }
+            case SPILL -> {
+                toRetryQueue(List.of(wrapper), "buffer full");
+                spilledCounter.increment();
+                return false;
+            }
+            default -> {
+                // BLOCK: writer가 버퍼를 비울 때까지 잠깐씩 대기 후 재시도
+                while (!buffer.offer(wrapper)) {
+                    signalWriters();
+                    if (Thread.currentThread().isInterrupted()) {
+                        log.warn("Interrupted while waiting for buffer space. RecordId: {}", wrapper.recordId());
+                        return false;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return true;
+            }
         }
     }
 
@@ -95,58 +321,53 @@ public class LogBufferService {
         dtos.forEach(this::addFromDto);
     }
 
-    @Scheduled(fixedDelayString = "${worker.bulk.flush-interval-ms:1000}")
-    @Transactional
-    public void flush() {
-        if (!isFlushing.compareAndSet(false, true)) {
-            return;
+    int drainAndSave(LogWrapper[] batch) {
+        return drainAndSave(batch, batch.length);
+    }
+
+    /**
+     * 버퍼에서 최대 limit 개를 꺼내 적재하고 ACK (writer 스레드에서 호출)
+     *
+     * @return 꺼낸 로그 수
+     */
+    int drainAndSave(LogWrapper[] batch, int limit) {
+        int drained = buffer.drainTo(batch, Math.min(limit, batch.length));
+        if (drained == 0) {
+            return 0;
         }
 
+        long busyStart = System.nanoTime();
         try {
-            if (buffer.isEmpty()) {
-                return;
-            }
-
-            List<LogWrapper> wrappersToSave = new ArrayList<>();
-            LogWrapper wrapper;
-            while (wrappersToSave.size() < batchSize && (wrapper = buffer.poll()) != null) {
-                wrappersToSave.add(wrapper);
-            }
-
-            if (wrappersToSave.isEmpty()) {
-                return;
+            List<LogWrapper> wrappersToSave = new ArrayList<>(drained);
+            List<Log> logs = new ArrayList<>(drained);
+            for (int i = 0; i < drained; i++) {
+                wrappersToSave.add(batch[i]);
+                logs.add(batch[i].log());
+                batch[i] = null;
             }
 
-            List<Log> logs = wrappersToSave.stream().map(LogWrapper::log).collect(Collectors.toList());
-            
+            long start = System.currentTimeMillis();
             try {
-                long start = System.currentTimeMillis();
                 logJdbcRepository.saveAll(logs);
                 long latencyMs = System.currentTimeMillis() - start;
                 backpressureManager.recordLatency(latencyMs);
+                batchController.onFlush(drained, latencyMs);
 
-                // RecordId가 있는 경우에만 ACK 전송
-                List<RecordId> recordIds = wrappersToSave.stream()
-                        .map(LogWrapper::recordId)
-                        .filter(id -> id != null)
-                        .collect(Collectors.toList());
-
-                if (!recordIds.isEmpty()) {
-                    redisTemplate.opsForStream().acknowledge(streamKey, consumerGroup, recordIds.toArray(new RecordId[0]));
-                }
+                int ackCount = acknowledge(wrappersToSave);
 
                 log.info("Flushed {} logs to DB in {}ms (state={}, ACK sent for {} items)",
-                        logs.size(), latencyMs, backpressureManager.getState(), recordIds.size());
+                        logs.size(), latencyMs, backpressureManager.getState(), ackCount);
             } catch (Exception e) {
+                // 실패도 흐름 제어에 반영 (연속 실패면 CRITICAL → 읽기 중단)
+                long elapsedMs = System.currentTimeMillis() - start;
+                backpressureManager.recordFailure(elapsedMs);
+                batchController.onFailure(elapsedMs);
                 log.error("Failed to flush {} logs to DB. Moving to DLQ for retry.", logs.size(), e);
-                // 실패한 로그들을 Dead Letter Queue에 추가
-                wrappersToSave.forEach(w -> {
-                    LogWrapper retryWrapper = new LogWrapper(w.log(), w.recordId(), w.retryCount());
-                    deadLetterQueue.offer(retryWrapper);
-                });
+                toRetryQueue(wrappersToSave, e.getMessage());
             }
+            return drained;
         } finally {
-            isFlushing.set(false);
+            writerBusyNanos.add(System.nanoTime() - busyStart);
         }
     }
 
@@ -174,53 +395,104 @@ public class LogBufferService {
 
             List<Log> logs = wrappersToRetry.stream().map(LogWrapper::log).collect(Collectors.toList());
 
+            long start = System.currentTimeMillis();
             try {
-                long start = System.currentTimeMillis();
                 logJdbcRepository.saveAll(logs);
                 long latencyMs = System.currentTimeMillis() - start;
+                backpressureManager.recordLatency(latencyMs);
 
-                // RecordId가 있는 경우에만 ACK 전송
-                List<RecordId> recordIds = wrappersToRetry.stream()
-                        .map(LogWrapper::recordId)
-                        .filter(id -> id != null)
-                        .collect(Collectors.toList());
-
-                if (!recordIds.isEmpty()) {
-                    redisTemplate.opsForStream().acknowledge(streamKey, consumerGroup, recordIds.toArray(new RecordId[0]));
-                }
+                int ackCount = acknowledge(wrappersToRetry);
 
                 log.info("[DLQ] Successfully retried {} logs to DB in {}ms (ACK sent for {} items)",
-                        logs.size(), latencyMs, recordIds.size());
+                        logs.size(), latencyMs, ackCount);
             } catch (Exception e) {
+                backpressureManager.recordFailure(System.currentTimeMillis() - start);
                 log.error("[DLQ] Failed to retry {} logs to DB", logs.size(), e);
 
                 // 재시도 횟수 증가 및 DLQ 재추가 또는 최종 실패 처리
+                List<LogWrapper> retries = new ArrayList<>();
+                List<LogWrapper> finalFailures = new ArrayList<>();
                 wrappersToRetry.forEach(w -> {
                     int newRetryCount = w.retryCount() + 1;
                     if (newRetryCount < maxRetryCount) {
-                        LogWrapper retryWrapper = new LogWrapper(w.log(), w.recordId(), newRetryCount);
-                        deadLetterQueue.offer(retryWrapper);
-                        log.warn("[DLQ] Retry count: {}/{} for log ID: {}", newRetryCount, maxRetryCount, w.recordId());
+                        retries.add(new LogWrapper(w.log(), w.streamKey(), w.recordId(), newRetryCount));
                     } else {
-                        handleFinalFailure(w);
+                        finalFailures.add(w);
                     }
                 });
+                if (!retries.isEmpty()) {
+                    log.warn("[DLQ] Retry count: {}/{} for {} logs", retries.get(0).retryCount(), maxRetryCount, retries.size());
+                    toRetryQueue(retries, e.getMessage());
+                }
+                if (!finalFailures.isEmpty()) {
+                    log.error("[DLQ] Final failure after {} retries for {} logs", maxRetryCount, finalFailures.size());
+                    persistDeadLetters(finalFailures, e.getMessage());
+                }
             }
         } finally {
             isRetrying.set(false);
         }
     }
 
-    private void handleFinalFailure(LogWrapper wrapper) {
-        log.error("[DLQ] Final failure after {} retries. RecordId: {}, Log: {}",
-                maxRetryCount, wrapper.recordId(), wrapper.log());
-        // TODO: 파일에 기록하거나 별도 알림 시스템 연동
+    // RecordId가 있는 경우에만 샤드 Stream별로 묶어서 ACK 전송
+    private int acknowledge(List<LogWrapper> wrappers) {
+        Map<String, List<RecordId>> recordIdsByStream = wrappers.stream()
+                .filter(w -> w.recordId() != null)
+                .collect(Collectors.groupingBy(LogWrapper::streamKey,
+                        Collectors.mapping(LogWrapper::recordId, Collectors.toList())));
+
+        int ackCount = 0;
+        for (Map.Entry<String, List<RecordId>> entry : recordIdsByStream.entrySet()) {
+            List<RecordId> recordIds = entry.getValue();
+            redisTemplate.opsForStream().acknowledge(entry.getKey(), consumerGroup, recordIds.toArray(new RecordId[0]));
+            ackCount += recordIds.size();
+        }
+        return ackCount;
+    }
+
+    // 메모리 재시도 큐에 넣고, 자리가 없는 로그는 바로 영구 DLQ로
+    private void toRetryQueue(List<LogWrapper> wrappers, String reason) {
+        List<LogWrapper> overflow = new ArrayList<>();
+        for (LogWrapper wrapper : wrappers) {
+            if (!deadLetterQueue.offer(wrapper)) {
+                overflow.add(wrapper);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            log.warn("[DLQ] Retry queue is full (capacity: {}). Persisting {} logs to durable DLQ.",
+                    retryQueueSize, overflow.size());
+            persistDeadLetters(overflow, reason);
+        }
+    }
+
+    /**
+     * 영구 DLQ에 보관된 뒤에만 원본 Stream 레코드를 ACK
+     * 보관마저 실패하면 ACK하지 않으므로 Stream 레코드는 PEL에 남아 LogReclaimService가 다시 가져옴
+     * (RecordId가 없는 직접 수신 API 로그만 이 경우 유실됨)
+     */
+    private void persistDeadLetters(List<LogWrapper> wrappers, String reason) {
+        try {
+            deadLetterStore.append(wrappers, reason);
+            int ackCount = acknowledge(wrappers);
+            log.error("[DLQ] Persisted {} logs to durable DLQ (ACK sent for {} items)", wrappers.size(), ackCount);
+        } catch (Exception e) {
+            long unrecoverable = wrappers.stream().filter(w -> w.recordId() == null).count();
+            log.error("[DLQ] Failed to persist {} logs to durable DLQ. Stream records stay pending for reclaim; " +
+                    "{} API logs without RecordId are lost.", wrappers.size(), unrecoverable, e);
+        }
+    }
+
+    /**
+     * @param drained 종료 중 적재(또는 영구 DLQ 보관) 후 ACK한 로그 수
+     * @param pending timeout까지 처리하지 못해 남은 로그 수
+     */
+    public record DrainResult(int drained, int pending, long elapsedMs) {
     }
 
-    public record LogWrapper(Log log, RecordId recordId, int retryCount) {
+    public record LogWrapper(Log log, String streamKey, RecordId recordId, int retryCount) {
         // retryCount를 포함하지 않는 생성자 (기존 호환성 유지)
-        public LogWrapper(Log log, RecordId recordId) {
-            this(log, recordId, 0);
+        public LogWrapper(Log log, String streamKey, RecordId recordId) {
+            this(log, streamKey, recordId, 0);
         }
     }
 }
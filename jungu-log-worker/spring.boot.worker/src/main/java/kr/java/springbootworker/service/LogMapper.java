@@ -1,8 +1,5 @@
 package kr.java.springbootworker.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.java.springbootworker.domain.entity.logs.Log;
 import kr.java.springbootworker.dto.request.RawLogRequest;
 import lombok.RequiredArgsConstructor;
@@ -10,54 +7,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
-import java.util.Map;
-import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class LogMapper {
 
-    private final ObjectMapper objectMapper;
-
-    public Log toEntity(Map<String, String> map) throws JsonProcessingException {
-        if (map.get("projectId") == null || map.get("body") == null) {
-            throw new IllegalArgumentException("Missing required fields: projectId and body are mandatory");
-        }
-
-        // logId 처리: null이거나 빈 문자열이면 새 UUID 생성
-        String logIdStr = map.get("logId");
-        UUID logId = (logIdStr != null && !logIdStr.isEmpty())
-                ? UUID.fromString(logIdStr)
-                : UUID.randomUUID();
-
-        // sessionId 처리: NOT NULL 제약 때문에 null이면 기본값 제공
-        String sessionId = map.get("sessionId");
-        if (sessionId == null || sessionId.isEmpty()) {
-            sessionId = "unknown-session";
-            log.warn("sessionId is null or empty. Using default value: 'unknown-session'");
-        }
-
-        return Log.builder()
-                .logId(logId)
-                .projectId(map.get("projectId"))
-                .sessionId(sessionId)
-                .userId(map.get("userId"))
-                .severity(map.getOrDefault("severity", "INFO"))
-                .body(map.get("body"))
-                .occurredAt(parseTime(map.get("occurredAt")))
-                .ingestedAt(parseTime(map.get("ingestedAt")))
-                .traceId(map.get("traceId"))
-                .spanId(map.get("spanId"))
-                .fingerprint(map.get("fingerprint"))
-                .resource(objectMapper.readValue(map.getOrDefault("resource", "{}"), new TypeReference<Map<String, Object>>() {}))
-                .attributes(objectMapper.readValue(map.getOrDefault("attributes", "{}"), new TypeReference<Map<String, Object>>() {}))
-                .build();
-    }
+    private final LogResourceResolver logResourceResolver;
 
     public Log toEntity(RawLogRequest dto) {
         return Log.builder()
-                .logId(UUID.randomUUID())
+                .logId(UuidV7.generate())
                 .projectId(dto.projectId())
                 .sessionId(dto.sessionId())
                 .userId(dto.userId())
@@ -68,19 +28,28 @@ public class LogMapper {
                 .traceId(dto.traceId())
                 .spanId(dto.spanId())
                 .fingerprint(null)
-                .resource(dto.resource() != null ? dto.resource() : Map.of())
-                .attributes(dto.attributes() != null ? dto.attributes() : Map.of())
+                .resourceRef(logResourceResolver.register(dto.resource()))
+                .attributes(dto.attributes())
                 .build();
     }
 
-    private OffsetDateTime parseTime(String timeStr) {
-        if (timeStr == null) return OffsetDateTime.now();
+    // Stream 레코드 디코딩(LogRecordCodec)에서도 같은 규칙으로 사용
+    static OffsetDateTime parseTime(String timeStr) {
+        return parseTime(timeStr, null);
+    }
+
+    /**
+     * @param fallback 값이 없거나 잘못된 경우 사용할 시각 (null이면 현재 시각)
+     */
+    static OffsetDateTime parseTime(String timeStr, OffsetDateTime fallback) {
+        OffsetDateTime defaultTime = fallback != null ? fallback : OffsetDateTime.now();
+        if (timeStr == null) return defaultTime;
         try {
             return OffsetDateTime.parse(timeStr);
         } catch (Exception e) {
-            log.warn("Failed to parse timestamp '{}'. Falling back to current time. Error: {}",
-                    timeStr, e.getMessage());
-            return OffsetDateTime.now();
+            log.warn("Failed to parse timestamp '{}'. Falling back to {}. Error: {}",
+                    timeStr, fallback != null ? "record time" : "current time", e.getMessage());
+            return defaultTime;
         }
     }
 }
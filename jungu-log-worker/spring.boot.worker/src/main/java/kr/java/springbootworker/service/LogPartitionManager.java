@@ -0,0 +1,126 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.repository.LogPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * log 테이블 시간 파티션 관리 (occurred_at 기준 RANGE 파티션)
+ * - 현재 구간부터 premake 개 앞 구간까지 파티션을 미리 생성
+ * - 범위 밖(너무 늦거나 먼 미래)의 occurred_at은 log_default로 들어감
+ * - 보관 기간이 지난 파티션은 DETACH 후 DROP (대량 DELETE 없이 테이블 단위로 정리)
+ * 기동 직후 한 번, 이후 cron 주기로 실행. 여러 worker가 떠 있어도 advisory lock으로 한 곳에서만 실행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogPartitionManager {
+
+    private final LogPartitionRepository logPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${worker.partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${worker.partition.interval:DAY}")
+    private PartitionInterval interval;
+
+    // 현재 구간 이후로 미리 만들어 둘 파티션 수
+    @Value("${worker.partition.premake:3}")
+    private int premake;
+
+    // 0 이하면 보관 기간 정리를 하지 않음
+    @Value("${worker.partition.retention-days:30}")
+    private int retentionDays;
+
+    // false면 DETACH만 하고 테이블은 남겨둠 (백업/아카이브 후 직접 삭제)
+    @Value("${worker.partition.drop-expired:true}")
+    private boolean dropExpired;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${worker.partition.cron:0 5 * * * *}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // advisory lock과 DDL을 한 트랜잭션으로 묶고, 실패하면 통째로 롤백 후 다음 주기에 재시도
+            transactionTemplate.executeWithoutResult(status -> maintain(OffsetDateTime.now(ZoneOffset.UTC)));
+        } catch (Exception e) {
+            log.error("Failed to maintain log partitions", e);
+        }
+    }
+
+    void maintain(OffsetDateTime now) {
+        if (!logPartitionRepository.tryLock()) {
+            log.debug("Another worker is maintaining log partitions. Skipping.");
+            return;
+        }
+
+        if (!logPartitionRepository.tableExists()) {
+            logPartitionRepository.createPartitionedTable();
+            log.info("Created partitioned table log");
+        } else if (!logPartitionRepository.isPartitioned()) {
+            log.warn("Table log exists but is not partitioned. Partition management is skipped; " +
+                    "recreate it as PARTITION BY RANGE (occurred_at) to enable it.");
+            return;
+        }
+        logPartitionRepository.createDefaultPartition();
+
+        Set<String> existing = new HashSet<>(logPartitionRepository.findPartitionNames());
+        createUpcoming(now, existing);
+        if (retentionDays > 0) {
+            removeExpired(now.minusDays(retentionDays), existing);
+        }
+    }
+
+    private void createUpcoming(OffsetDateTime now, Set<String> existing) {
+        OffsetDateTime start = interval.truncate(now);
+        for (int i = 0; i <= premake; i++) {
+            OffsetDateTime end = interval.next(start);
+            String name = interval.partitionName(start);
+            if (!existing.contains(name)) {
+                logPartitionRepository.createPartition(name, start, end);
+                log.info("Created log partition {} [{}, {})", name, start, end);
+            }
+            start = end;
+        }
+    }
+
+    private void removeExpired(OffsetDateTime cutoff, Set<String> existing) {
+        List<String> expired = existing.stream()
+                .filter(name -> {
+                    OffsetDateTime start = interval.parseStart(name);
+                    return start != null && !interval.next(start).isAfter(cutoff);
+                })
+                .sorted()
+                .toList();
+
+        for (String name : expired) {
+            logPartitionRepository.detachPartition(name);
+            if (dropExpired) {
+                logPartitionRepository.dropTable(name);
+                log.info("Dropped expired log partition {}", name);
+            } else {
+                log.info("Detached expired log partition {}", name);
+            }
+        }
+
+        int deleted = logPartitionRepository.deleteFromDefaultBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Deleted {} expired rows from {}", deleted, LogPartitionRepository.DEFAULT_PARTITION);
+        }
+    }
+}
@@ -1,88 +1,433 @@
 package kr.java.springbootworker.service;
 
-import kr.java.springbootworker.domain.entity.logs.Log;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.config.WorkerIdentity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Range;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.PendingMessage;
 import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
 import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StreamOperations;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 처리되지 못하고 PEL에 남은 레코드 회수
+ * - XAUTOCLAIM으로 Consumer 구분 없이 min-idle 이상 묵은 레코드를 이 worker로 가져와 재처리
+ *   (죽은 pod의 PEL도 여기서 살아있는 worker에게 넘어옴)
+ * - 한 번 실행할 때 XAUTOCLAIM 커서를 따라 PEL 끝까지 페이지 단위로 회수
+ *   페이지마다 BackpressureManager 크레딧을 받아 그 수만큼만 가져오고 (버퍼를 넘치게 하지 않음)
+ *   가져온 페이지는 reclaim 스레드들이 병렬로 LogStreamListener(묶음 디코딩 → 버퍼)에 넘김
+ *   크레딧을 받지 못하면 남은 PEL은 다음 실행에서 이어서 회수
+ * - heartbeat가 끊긴 Consumer의 PEL은 min-idle을 기다리지 않고 XPENDING → XCLAIM으로 바로 가져옴
+ *   (정상 종료한 worker는 heartbeat를 지우므로 남은 PEL이 다음 실행에서 곧바로 넘어옴)
+ * - heartbeat가 끊기고 PEL도 비어있는 Consumer는 그룹에서 제거 (XGROUP DELCONSUMER)
+ * 한 번의 실행이 PEL 크기만큼 길어질 수 있어 @Scheduled 공용 스레드(기본 1개) 대신 전용 스레드에서 주기 실행
+ * (heartbeat / DLQ 재시도 / Stream 정리 / 파티션 관리가 회수 때문에 밀리지 않도록)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LogReclaimService {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final LogBufferService logBufferService;
-    private final LogMapper logMapper;
+    private static final String CURSOR_START = "0-0";
+    private static final long CLAIM_TIMEOUT_SECONDS = 10;
 
-    @Value("${redis.stream.key:log-stream}")
-    private String streamKey;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LogStreamListener logStreamListener;
+    private final LogStreamShards logStreamShards;
+    private final WorkerIdentity workerIdentity;
+    private final ConsumerHeartbeat consumerHeartbeat;
+    private final BackpressureManager backpressureManager;
+    private final MeterRegistry meterRegistry;
 
     @Value("${redis.stream.group:log-group}")
     private String consumerGroup;
 
-    @Value("${redis.stream.consumer:log-consumer-1}")
-    private String consumerName;
+    // 이 시간 이상 ACK되지 않은 레코드만 회수 (정상 처리 중인 레코드를 뺏지 않도록 flush 주기보다 충분히 길게)
+    @Value("${worker.reclaim.min-idle-ms:60000}")
+    private long minIdleMs;
 
-    @Scheduled(fixedDelay = 60000)
-    public void reclaimPendingMessages() {
-        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
-        
+    // heartbeat가 끊긴 Consumer의 PEL은 이 시간만 지나면 회수
+    // (heartbeat 만료 직후 아직 flush 중일 수 있는 레코드를 바로 뺏지 않을 정도로만 짧게)
+    @Value("${worker.reclaim.dead-consumer-min-idle-ms:5000}")
+    private long deadConsumerMinIdleMs;
+
+    // XAUTOCLAIM 한 페이지 최대 크기 (실제로는 받은 크레딧만큼)
+    @Value("${worker.reclaim.batch-size:1000}")
+    private int batchSize;
+
+    // 회수한 페이지를 동시에 재처리할 스레드 수
+    @Value("${worker.reclaim.parallelism:4}")
+    private int parallelism;
+
+    // 페이지마다 크레딧을 기다리는 최대 시간 (못 받으면 이번 실행은 여기서 멈춤)
+    @Value("${worker.reclaim.credit-wait-ms:5000}")
+    private long creditWaitMs;
+
+    // 이전 실행이 끝난 뒤 다음 실행까지의 간격
+    @Value("${worker.reclaim.interval-ms:30000}")
+    private long intervalMs;
+
+    private volatile boolean running = true;
+    private ScheduledExecutorService reclaimScheduler;
+    private ExecutorService reclaimExecutor;
+    private Counter claimedCounter;
+    private Counter deletedCounter;
+
+    @PostConstruct
+    public void init() {
+        if (batchSize <= 0) {
+            log.warn("Invalid reclaim batch size: {}. Resetting to 1000.", batchSize);
+            batchSize = 1000;
+        }
+        if (parallelism <= 0) {
+            log.warn("Invalid reclaim parallelism: {}. Resetting to 4.", parallelism);
+            parallelism = 4;
+        }
+        if (intervalMs <= 0) {
+            log.warn("Invalid reclaim interval: {}ms. Resetting to 30000.", intervalMs);
+            intervalMs = 30000;
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        reclaimExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "log-reclaim-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        reclaimScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-reclaim-loop");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reclaimScheduler.scheduleWithFixedDelay(this::reclaimPendingMessages, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("worker.reclaim.pending", this, LogReclaimService::pendingOrNaN)
+                .description("모든 샤드의 PEL(ACK 대기) 레코드 수")
+                .register(meterRegistry);
+
+        claimedCounter = Counter.builder("worker.reclaim.claimed")
+                .description("XAUTOCLAIM으로 회수해 재처리한 레코드 수")
+                .register(meterRegistry);
+
+        deletedCounter = Counter.builder("worker.reclaim.deleted")
+                .description("회수 시점에 본문이 이미 지워져 PEL에서만 빠진 레코드 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 회수를 멈추고 이미 가져온 페이지의 재처리가 끝날 때까지 대기 (종료 시 WorkerLifecycle에서 호출)
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        // 진행 중인 실행은 다음 페이지 전에 멈추고 이미 넘긴 페이지를 기다린 뒤 끝남
+        reclaimScheduler.shutdown();
+        reclaimScheduler.awaitTermination(CLAIM_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        reclaimExecutor.shutdown();
+        reclaimExecutor.awaitTermination(CLAIM_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    void reclaimPendingMessages() {
+        if (!running) {
+            return;
+        }
         try {
-            PendingMessages pendingMessages = streamOps.pending(
-                    streamKey,
-                    Consumer.from(consumerGroup, consumerName),
-                    Range.unbounded(),
-                    100
-            );
-
-            if (pendingMessages.isEmpty()) {
-                return;
-            }
+            logStreamShards.keys().forEach(streamKey -> {
+                reclaimPendingMessages(streamKey);
+                removeDeadConsumers(streamKey);
+            });
+        } catch (Exception e) {
+            // 예외가 밖으로 나가면 ScheduledExecutorService가 이후 실행을 모두 취소함
+            log.error("Error during pending message reclaim", e);
+        }
+    }
+
+    /**
+     * 한 샤드의 PEL을 커서 끝까지 회수
+     *
+     * @return 재처리로 넘긴 레코드 수
+     */
+    int reclaimPendingMessages(String streamKey) {
+        List<Future<?>> inFlight = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        int claimed = 0;
+        String cursor = CURSOR_START;
+
+        try {
+            do {
+                int credits = backpressureManager.acquireCredits(batchSize, Duration.ofMillis(creditWaitMs));
+                if (credits == 0) {
+                    log.info("Reclaim of {} paused by backpressure at cursor {}. Continuing next run.", streamKey, cursor);
+                    break;
+                }
+
+                ClaimPage page;
+                try {
+                    page = autoClaim(streamKey, cursor, credits);
+                } catch (Exception e) {
+                    backpressureManager.releaseCredits(credits);
+                    throw e;
+                }
+                deletedCounter.increment(page.deleted());
+                cursor = page.nextCursor();
+
+                if (page.records().isEmpty()) {
+                    backpressureManager.releaseCredits(credits);
+                    continue;
+                }
+                try {
+                    inFlight.add(reclaimExecutor.submit(() -> process(page.records(), credits)));
+                    claimed += page.records().size();
+                } catch (RejectedExecutionException e) {
+                    // 종료 중 - 가져온 페이지는 ACK되지 않은 채 이 Consumer의 PEL에 남아 다음 회수 대상이 됨
+                    backpressureManager.releaseCredits(credits);
+                    break;
+                }
+            } while (running && !CURSOR_START.equals(cursor));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error during pending message reclaim ({})", streamKey, e);
+        }
+
+        awaitAll(inFlight);
+        if (claimed > 0) {
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            log.info("Reclaimed {} pending messages from {} in {}ms ({} msg/s).",
+                    claimed, streamKey, elapsedMs, claimed * 1000L / elapsedMs);
+        }
+        return claimed;
+    }
 
-            List<String> idsToClaim = pendingMessages.stream()
-                    .filter(msg -> msg.getElapsedTimeSinceLastDelivery().toMillis() > 10000)
-                    .map(msg -> msg.getId().getValue())
-                    .collect(Collectors.toList());
+    // 새로 읽은 레코드와 같은 경로(묶음 디코딩 → 버퍼)로 재처리, 버퍼에 넣은 뒤 크레딧 반납
+    private void process(List<MapRecord<String, String, String>> records, int credits) {
+        try {
+            logStreamListener.onMessages(records);
+            claimedCounter.increment(records.size());
+        } finally {
+            backpressureManager.releaseCredits(credits);
+        }
+    }
 
-            if (idsToClaim.isEmpty()) {
+    private void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 return;
+            } catch (ExecutionException e) {
+                log.error("Failed to re-process reclaimed messages", e.getCause());
+            }
+        }
+    }
+
+    long pendingCount() {
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+        long total = 0;
+        for (String streamKey : logStreamShards.keys()) {
+            PendingMessagesSummary summary = streamOps.pending(streamKey, consumerGroup);
+            if (summary != null) {
+                total += summary.getTotalPendingMessages();
             }
+        }
+        return total;
+    }
+
+    private double pendingOrNaN() {
+        try {
+            return pendingCount();
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    void removeDeadConsumers(String streamKey) {
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+
+        try {
+            StreamInfo.XInfoConsumers consumers = streamOps.consumers(streamKey, consumerGroup);
+            consumers.forEach(consumer -> {
+                if (consumerHeartbeat.isAlive(consumer.consumerName())) {
+                    return;
+                }
+                // PEL이 남아있으면 지우지 않음 (DELCONSUMER는 PEL까지 버림) → 먼저 넘겨받고 다음 실행에서 제거
+                if (consumer.pendingCount() > 0) {
+                    claimFromDeadConsumer(streamKey, consumer.consumerName());
+                    return;
+                }
+                if (consumer.idleTimeMs() < minIdleMs) {
+                    return;
+                }
+                streamOps.deleteConsumer(streamKey, Consumer.from(consumerGroup, consumer.consumerName()));
+                log.info("Removed dead consumer {} from {}.", consumer.consumerName(), streamKey);
+            });
+        } catch (Exception e) {
+            log.error("Error during dead consumer cleanup ({})", streamKey, e);
+        }
+    }
 
-            log.info("Found {} pending messages to reclaim.", idsToClaim.size());
+    /**
+     * heartbeat가 끊긴 Consumer의 PEL을 min-idle보다 짧은 dead-consumer-min-idle 기준으로 이 worker가 가져와 재처리
+     * XAUTOCLAIM은 Consumer를 가릴 수 없어 살아있는 worker의 처리 중인 레코드까지 뺏으므로 XPENDING(Consumer 지정) → XCLAIM 사용
+     *
+     * @return 재처리로 넘긴 레코드 수
+     */
+    int claimFromDeadConsumer(String streamKey, String consumerName) {
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+        Consumer deadConsumer = Consumer.from(consumerGroup, consumerName);
+        int claimed = 0;
 
-            List<MapRecord<String, String, String>> claimedMessages = streamOps.claim(
-                    streamKey,
-                    consumerGroup,
-                    consumerName,
-                    Duration.ofMillis(10000),
-                    idsToClaim.stream().map(RecordId::of).toArray(RecordId[]::new)
-            );
+        try {
+            while (running) {
+                int credits = backpressureManager.acquireCredits(batchSize, Duration.ofMillis(creditWaitMs));
+                if (credits == 0) {
+                    break;
+                }
 
-            for (MapRecord<String, String, String> message : claimedMessages) {
+                List<MapRecord<String, String, String>> records;
                 try {
-                    Log logEntity = logMapper.toEntity(message.getValue());
-                    logBufferService.add(logEntity, message.getId());
-                    log.debug("Reclaimed message ID: {}", message.getId());
+                    PendingMessages pending = streamOps.pending(streamKey, deadConsumer, Range.unbounded(), credits);
+                    if (pending == null || pending.isEmpty()) {
+                        backpressureManager.releaseCredits(credits);
+                        break;
+                    }
+                    RecordId[] ids = pending.stream().map(PendingMessage::getId).toArray(RecordId[]::new);
+                    records = streamOps.claim(streamKey, consumerGroup, workerIdentity.getConsumerName(),
+                            Duration.ofMillis(deadConsumerMinIdleMs), ids);
+                    // 아직 dead-consumer-min-idle이 안 지난 레코드만 남음 → 다음 실행에서 다시 시도
+                    if (records.isEmpty()) {
+                        backpressureManager.releaseCredits(credits);
+                        break;
+                    }
                 } catch (Exception e) {
-                    log.error("Failed to reclaim message ID: {}", message.getId(), e);
+                    backpressureManager.releaseCredits(credits);
+                    throw e;
                 }
-            }
 
+                process(records, credits);
+                claimed += records.size();
+                if (records.size() < credits) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
-            log.error("Error during pending message reclaim", e);
+            // 실패해도 남은 레코드는 min-idle 이후 XAUTOCLAIM 경로에서 회수됨
+            log.error("Error during dead consumer reclaim ({} / {})", streamKey, consumerName, e);
+        }
+
+        if (claimed > 0) {
+            log.info("Claimed {} pending messages of dead consumer {} from {}.", claimed, consumerName, streamKey);
+        }
+        return claimed;
+    }
+
+    // Spring Data Redis에 XAUTOCLAIM이 없고, Lettuce의 xautoclaim은 세 번째 응답(삭제된 ID 목록)을 버려서 직접 파싱
+    @SuppressWarnings("unchecked")
+    ClaimPage autoClaim(String streamKey, String cursor, int count) {
+        return redisTemplate.execute((RedisCallback<ClaimPage>) connection -> {
+            BaseRedisAsyncCommands<byte[], byte[]> commands =
+                    (BaseRedisAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(bytes(streamKey));
+            XAutoClaimArgs.Builder
+                    .xautoclaim(io.lettuce.core.Consumer.from(bytes(consumerGroup), bytes(workerIdentity.getConsumerName())),
+                            Duration.ofMillis(minIdleMs), cursor)
+                    .count(count)
+                    .build(args);
+
+            List<Object> reply = LettuceFutures.awaitOrCancel(
+                    commands.dispatch(CommandType.XAUTOCLAIM, new NestedMultiOutput<>(ByteArrayCodec.INSTANCE), args),
+                    CLAIM_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return toClaimPage(streamKey, reply);
+        });
+    }
+
+    /**
+     * XAUTOCLAIM 응답: [다음 커서, [[id, [field, value, ...]], ...], [삭제된 id, ...]]
+     * 회수 사이에 XTRIM 등으로 본문이 사라진 항목은 PEL에서만 빠지고 건너뜀
+     * - Redis 6.2: 항목 목록에 본문이 nil인 채로 들어 있음
+     * - Redis 7+: 항목 목록에서 빠지고 세 번째 원소로 ID만 옴
+     */
+    @SuppressWarnings("unchecked")
+    static ClaimPage toClaimPage(String streamKey, List<Object> reply) {
+        String nextCursor = string((byte[]) reply.get(0));
+        List<Object> entries = (List<Object>) reply.get(1);
+
+        List<MapRecord<String, String, String>> records = new ArrayList<>(entries.size());
+        int deleted = 0;
+        for (Object entry : entries) {
+            List<Object> idAndFields = (List<Object>) entry;
+            if (idAndFields == null || idAndFields.size() < 2
+                    || !(idAndFields.get(1) instanceof List<?> fields) || fields.isEmpty()) {
+                deleted++;
+                continue;
+            }
+            Map<String, String> body = new LinkedHashMap<>();
+            for (int i = 0; i + 1 < fields.size(); i += 2) {
+                body.put(string((byte[]) fields.get(i)), string((byte[]) fields.get(i + 1)));
+            }
+            records.add(StreamRecords.newRecord().in(streamKey)
+                    .withId(string((byte[]) idAndFields.get(0))).ofMap(body));
+        }
+        if (reply.size() > 2 && reply.get(2) instanceof List<?> deletedIds) {
+            deleted += deletedIds.size();
         }
+        return new ClaimPage(records, nextCursor, deleted);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * XAUTOCLAIM 한 페이지
+     *
+     * @param nextCursor 다음 호출의 시작 ID ("0-0"이면 PEL 끝까지 확인함)
+     * @param deleted    본문이 지워져 건너뛴 항목 수
+     */
+    record ClaimPage(List<MapRecord<String, String, String>> records, String nextCursor, int deleted) {
     }
 }
@@ -0,0 +1,141 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.domain.entity.logs.Log;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Redis Stream 레코드 와이어 포맷 (log-api → log-worker)
+ * - 고정 필드는 Stream 필드에 문자열 그대로 저장되어 있으므로 바로 읽음
+ * - attributes 만 JSON 문자열로 인코딩되어 있음 (파싱하지 않고 원문 그대로 Log에 담음)
+ * - resource 는 사전 참조(resourceRef)로 옴 (이전 버전 레코드는 resource JSON 그대로)
+ * - 값이 없는 필드는 생략되어 있을 수 있음
+ * 필드 이름은 log-api의 LogRecordCodec과 반드시 같아야 함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogRecordCodec {
+
+    public static final String LOG_ID = "logId";
+    public static final String PROJECT_ID = "projectId";
+    public static final String SESSION_ID = "sessionId";
+    public static final String USER_ID = "userId";
+    public static final String SEVERITY = "severity";
+    public static final String BODY = "body";
+    public static final String OCCURRED_AT = "occurredAt";
+    public static final String INGESTED_AT = "ingestedAt";
+    public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
+    public static final String FINGERPRINT = "fingerprint";
+    public static final String RESOURCE = "resource";
+    public static final String RESOURCE_REF = "resourceRef";
+    public static final String ATTRIBUTES = "attributes";
+
+    private final LogResourceResolver logResourceResolver;
+
+    /**
+     * Stream에서 읽은 레코드 디코딩
+     * 같은 레코드를 다시 받아도 같은 Log가 되도록 (log_id, occurred_at)을 레코드에서만 결정
+     * - logId: log-api가 수신 시점에 부여한 값 (Spool 재적재로 RecordId가 바뀌어도 같음), 없으면 RecordId에서 만든 UUIDv7
+     * - occurredAt: 없거나 잘못된 값이면 logId(UUIDv7) 시각, logId도 없으면 RecordId 시각
+     */
+    public Log decode(Map<String, String> record, String streamKey, RecordId recordId) {
+        return decode(record,
+                () -> UuidV7.fromStreamRecord(streamKey, recordId),
+                OffsetDateTime.ofInstant(Instant.ofEpochMilli(recordId.getTimestamp()), ZoneOffset.UTC));
+    }
+
+    /**
+     * RecordId 없이 디코딩 (DLQ 재적재 - encode로 보관했으므로 logId / occurredAt이 이미 들어 있음)
+     */
+    public Log decode(Map<String, String> record) {
+        return decode(record, UuidV7::generate, null);
+    }
+
+    private Log decode(Map<String, String> record, Supplier<UUID> logIdFallback, OffsetDateTime occurredAtFallback) {
+        if (record.get(PROJECT_ID) == null || record.get(BODY) == null) {
+            throw new IllegalArgumentException("Missing required fields: projectId and body are mandatory");
+        }
+
+        // logId 처리: null이거나 빈 문자열이면 fallback (RecordId 기반 또는 새 UUIDv7)
+        String logIdStr = record.get(LOG_ID);
+        UUID logId = (logIdStr != null && !logIdStr.isEmpty())
+                ? UUID.fromString(logIdStr)
+                : logIdFallback.get();
+
+        // log-api가 부여한 UUIDv7이면 occurredAt 기본값도 RecordId 대신 logId 시각 (재적재된 사본도 같은 PK)
+        if (logIdStr != null && !logIdStr.isEmpty() && logId.version() == 7) {
+            occurredAtFallback = OffsetDateTime.ofInstant(Instant.ofEpochMilli(UuidV7.timestampMillis(logId)), ZoneOffset.UTC);
+        }
+
+        // sessionId 처리: NOT NULL 제약 때문에 null이면 기본값 제공
+        String sessionId = record.get(SESSION_ID);
+        if (sessionId == null || sessionId.isEmpty()) {
+            sessionId = "unknown-session";
+            log.warn("sessionId is null or empty. Using default value: 'unknown-session'");
+        }
+
+        return Log.builder()
+                .logId(logId)
+                .projectId(record.get(PROJECT_ID))
+                .sessionId(sessionId)
+                .userId(record.get(USER_ID))
+                .severity(record.getOrDefault(SEVERITY, "INFO"))
+                .body(record.get(BODY))
+                .occurredAt(LogMapper.parseTime(record.get(OCCURRED_AT), occurredAtFallback))
+                .ingestedAt(LogMapper.parseTime(record.get(INGESTED_AT)))
+                .traceId(record.get(TRACE_ID))
+                .spanId(record.get(SPAN_ID))
+                .fingerprint(record.get(FINGERPRINT))
+                .resourceRef(resolveResource(record))
+                .attributesJson(record.get(ATTRIBUTES))
+                .build();
+    }
+
+    /**
+     * decode의 역방향 (DLQ Stream에 그대로 다시 읽을 수 있는 형태로 보관할 때 사용)
+     */
+    public Map<String, String> encode(Log log) {
+        Map<String, String> record = new LinkedHashMap<>();
+        put(record, LOG_ID, log.getLogId() != null ? log.getLogId().toString() : null);
+        put(record, PROJECT_ID, log.getProjectId());
+        put(record, SESSION_ID, log.getSessionId());
+        put(record, USER_ID, log.getUserId());
+        put(record, SEVERITY, log.getSeverity());
+        put(record, BODY, log.getBody());
+        put(record, OCCURRED_AT, log.getOccurredAt() != null ? log.getOccurredAt().toString() : null);
+        put(record, INGESTED_AT, log.getIngestedAt() != null ? log.getIngestedAt().toString() : null);
+        put(record, TRACE_ID, log.getTraceId());
+        put(record, SPAN_ID, log.getSpanId());
+        put(record, FINGERPRINT, log.getFingerprint());
+        put(record, RESOURCE_REF, log.getResourceRef());
+        put(record, ATTRIBUTES, log.getAttributesJson());
+        return record;
+    }
+
+    private static void put(Map<String, String> record, String field, String value) {
+        if (value != null) {
+            record.put(field, value);
+        }
+    }
+
+    private String resolveResource(Map<String, String> record) {
+        String resourceRef = record.get(RESOURCE_REF);
+        if (resourceRef != null) {
+            return logResourceResolver.resolve(resourceRef);
+        }
+        String resource = record.get(RESOURCE);
+        return resource != null ? logResourceResolver.register(resource) : null;
+    }
+}
@@ -0,0 +1,136 @@
+package kr.java.springbootworker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.domain.entity.logs.RawJson;
+import kr.java.springbootworker.repository.LogResourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * resource 사전 참조(resourceRef) 해석
+ * LRU 캐시 → log_resource 테이블 → log-api가 기록한 Redis Hash 순으로 확인하고,
+ * Redis에서 찾은 정의는 log_resource에 저장해 둠
+ * 참조 규칙은 log-api의 LogResourceDictionary와 같아야 함 (canonical JSON의 SHA-256 앞 16바이트 base64url)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogResourceResolver {
+
+    private static final int REF_BYTES = 16;
+
+    private final LogResourceRepository logResourceRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LogStreamShards logStreamShards;
+    private final ObjectMapper objectMapper;
+
+    @Value("${worker.resource.cache-size:10000}")
+    private int cacheSize;
+
+    private ObjectMapper canonicalMapper;
+    private Map<String, Boolean> knownRefs;
+
+    @PostConstruct
+    public void init() {
+        if (cacheSize <= 0) {
+            log.warn("Invalid resource cache size: {}. Resetting to 10000.", cacheSize);
+            cacheSize = 10000;
+        }
+        canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        knownRefs = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Stream 레코드의 resourceRef가 log_resource에 있도록 보장
+     * 정의를 찾지 못하면 예외 → 해당 레코드는 ACK되지 않고 PEL에 남아 회수 때 다시 해석
+     * (worker.reclaim.max-deliveries 번 넘게 실패하면 LogStreamListener가 DLQ로 보냄)
+     * (정의 없는 참조를 저장하면 나중에 정의가 도착해도 로그에서 resource를 복원할 수 없음)
+     *
+     * @throws IllegalStateException DB에도 Redis 사전에도 정의가 없는 경우
+     */
+    public String resolve(String resourceRef) {
+        if (isKnown(resourceRef)) {
+            return resourceRef;
+        }
+        if (logResourceRepository.exists(resourceRef)) {
+            remember(resourceRef);
+            return resourceRef;
+        }
+
+        Object resourceJson = redisTemplate.opsForHash().get(logStreamShards.resourceKey(), resourceRef);
+        if (resourceJson == null) {
+            throw new IllegalStateException("Unknown resource ref: " + resourceRef + ". Leaving record for retry.");
+        }
+        logResourceRepository.insertIfAbsent(resourceRef, resourceJson.toString());
+        remember(resourceRef);
+        return resourceRef;
+    }
+
+    /**
+     * 참조 없이 resource 원본이 들어온 경우 (직접 수신 API, 사전 인코딩 이전 레코드)
+     *
+     * @return resource가 비어 있으면 null
+     */
+    public String register(Map<String, Object> resource) {
+        if (resource == null || resource.isEmpty()) {
+            return null;
+        }
+        try {
+            return register(canonicalMapper.writeValueAsString(resource));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Resource is not serializable", e);
+        }
+    }
+
+    public String register(String resourceJson) {
+        RawJson.requireObject(resourceJson);
+        String resourceRef = hash(resourceJson);
+        if (!isKnown(resourceRef)) {
+            logResourceRepository.insertIfAbsent(resourceRef, resourceJson);
+            remember(resourceRef);
+        }
+        return resourceRef;
+    }
+
+    private boolean isKnown(String resourceRef) {
+        synchronized (knownRefs) {
+            return knownRefs.containsKey(resourceRef);
+        }
+    }
+
+    private void remember(String resourceRef) {
+        synchronized (knownRefs) {
+            knownRefs.put(resourceRef, Boolean.TRUE);
+        }
+    }
+
+    private static String hash(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            byte[] ref = new byte[REF_BYTES];
+            System.arraycopy(digest, 0, ref, 0, REF_BYTES);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ref);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
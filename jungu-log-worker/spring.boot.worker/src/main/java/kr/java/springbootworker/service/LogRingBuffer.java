@@ -0,0 +1,110 @@
+package kr.java.springbootworker.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 크기 lock-free 링 버퍼 (Dmitry Vyukov의 bounded MPMC 큐)
+ * - 슬롯마다 sequence를 두어 생산자/소비자가 CAS 한 번으로 자리를 잡음
+ * - size()는 enqueue/dequeue 위치의 차이라 O(1) (ConcurrentLinkedQueue.size()는 O(n))
+ * - 가득 차면 offer가 false를 반환하고, 그때의 처리는 호출자(BufferFullPolicy)가 결정
+ * 용량은 2의 거듭제곱으로 올림
+ */
+public class LogRingBuffer<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    public LogRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + requestedCapacity);
+        }
+        int capacity = requestedCapacity == 1 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return 버퍼가 가득 찼으면 false
+     */
+    public boolean offer(T element) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.getAcquire(index) - position;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * @return 비어 있으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.getAcquire(index) - (position + 1);
+            if (diff == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    T element = (T) slots[index];
+                    slots[index] = null;
+                    sequences.setRelease(index, position + mask + 1);
+                    return element;
+                }
+                position = dequeuePosition.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * 최대 max개를 target 배열 앞에서부터 채움 (배열은 호출자가 재사용)
+     *
+     * @return 꺼낸 개수
+     */
+    public int drainTo(T[] target, int max) {
+        int limit = Math.min(max, target.length);
+        int count = 0;
+        T element;
+        while (count < limit && (element = poll()) != null) {
+            target[count++] = element;
+        }
+        return count;
+    }
+
+    public int size() {
+        // 두 위치를 따로 읽으므로 동시 변경 중에는 잠깐 범위를 벗어날 수 있어 보정
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
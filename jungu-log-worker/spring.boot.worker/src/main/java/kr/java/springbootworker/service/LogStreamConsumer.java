@@ -0,0 +1,118 @@
+package kr.java.springbootworker.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드마다 전용 스레드에서 XREADGROUP COUNT n BLOCK t 로 묶음 단위 소비
+ * 레코드 단위 콜백 대신 읽어온 목록 전체를 LogStreamListener에 한 번에 넘김
+ * 읽기 전에 BackpressureManager에서 크레딧을 받아 그 수만큼만 읽고, 크레딧이 없으면 읽기를 멈춤
+ * (BLOCK 읽기는 Lettuce 전용 커넥션에서 실행되므로 다른 Redis 명령을 막지 않음)
+ */
+@Slf4j
+public class LogStreamConsumer {
+
+    private static final long ERROR_BACKOFF_MS = 1000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LogStreamListener logStreamListener;
+    private final BackpressureManager backpressureManager;
+    private final List<String> streamKeys;
+    private final Consumer consumer;
+    private final StreamReadOptions readOptions;
+    private final int readCount;
+    private final Duration blockTimeout;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public LogStreamConsumer(RedisTemplate<String, String> redisTemplate, LogStreamListener logStreamListener,
+                             BackpressureManager backpressureManager, List<String> streamKeys, Consumer consumer,
+                             int readCount, Duration blockTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.logStreamListener = logStreamListener;
+        this.backpressureManager = backpressureManager;
+        this.streamKeys = streamKeys;
+        this.consumer = consumer;
+        this.readOptions = StreamReadOptions.empty().block(blockTimeout);
+        this.readCount = readCount;
+        this.blockTimeout = blockTimeout;
+    }
+
+    public void start() {
+        running = true;
+        threads.clear();
+        for (int i = 0; i < streamKeys.size(); i++) {
+            String streamKey = streamKeys.get(i);
+            Thread thread = new Thread(() -> consume(streamKey), "log-consumer-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        // BLOCK 중인 읽기는 blockTimeout 안에 돌아오므로 그만큼 기다림
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume(String streamKey) {
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+        // read(...)가 제네릭 가변인자라 배열을 직접 만들어 두고 재사용 (매 호출 unchecked 배열 생성 경고 방지)
+        @SuppressWarnings("unchecked")
+        StreamOffset<String>[] offsets = new StreamOffset[]{StreamOffset.create(streamKey, ReadOffset.lastConsumed())};
+
+        while (running) {
+            int credits = 0;
+            try {
+                // 크레딧이 없으면 여기서 멈춰 있다가 회복되면 바로 다음 읽기로 넘어감
+                credits = backpressureManager.acquireCredits(readCount, blockTimeout);
+                if (credits == 0) {
+                    continue;
+                }
+                List<MapRecord<String, String, String>> records =
+                        streamOps.read(consumer, readOptions.count(credits), offsets);
+                if (records != null && !records.isEmpty()) {
+                    logStreamListener.onMessages(records);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Failed to read from Redis Stream ({}). Retrying in {}ms.", streamKey, ERROR_BACKOFF_MS, e);
+                sleepQuietly(ERROR_BACKOFF_MS);
+            } finally {
+                backpressureManager.releaseCredits(credits);
+            }
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,50 +1,86 @@
 package kr.java.springbootworker.service;
 
 import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.service.LogBufferService.LogWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.connection.stream.MapRecord;
-import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * XREADGROUP 한 번으로 읽어온 레코드 묶음 처리
+ * 디코딩은 한 번의 순회로 끝내고 버퍼에는 묶음째 넣음
+ * (배압은 LogStreamConsumer가 읽기 전에 크레딧으로 조절하므로 여기서는 기다리지 않음)
+ * 디코딩하지 못한 레코드는 버퍼에 넣지 않고:
+ * - 형식 오류(필수 필드 누락, 잘못된 logId/시각/JSON): 다시 읽어도 같으므로 원본 필드 그대로 영구 DLQ에 보관하고 ACK
+ * - 그 밖의 오류(resource 정의가 아직 없음, DB 오류 등): ACK하지 않고 PEL에 남겨 LogReclaimService가 다시 처리,
+ *   전달 횟수(XPENDING)가 max-deliveries를 넘으면 형식 오류와 같이 DLQ로
+ * DLQ 보관에 실패하면 ACK하지 않음 (다음 회수에서 다시 시도)
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class LogStreamListener implements StreamListener<String, MapRecord<String, String, String>> {
+public class LogStreamListener {
 
     private final LogBufferService logBufferService;
-    private final LogMapper logMapper;
-    private final BackpressureManager backpressureManager;
+    private final LogRecordCodec logRecordCodec;
+    private final DeadLetterStore deadLetterStore;
+    private final RedisTemplate<String, String> redisTemplate;
 
-    @Override
-    public void onMessage(MapRecord<String, String, String> message) {
-        applyBackpressure();
+    @Value("${redis.stream.group:log-group}")
+    private String consumerGroup;
 
-        try {
-            Log logEntity = logMapper.toEntity(message.getValue());
-            logBufferService.add(logEntity, message.getId());
-        } catch (Exception e) {
-            // 보안: 민감 정보(value)는 로그에 남기지 않고 Message ID만 기록
-            log.error("Failed to process Redis Stream message. ID: {}", message.getId(), e);
+    // 일시적인 디코딩 실패를 재시도할 최대 전달 횟수 (처음 읽기 포함, 회수 주기마다 1씩 늘어남)
+    @Value("${worker.reclaim.max-deliveries:5}")
+    private long maxDeliveries;
+
+    public void onMessages(List<MapRecord<String, String, String>> messages) {
+        List<LogWrapper> wrappers = new ArrayList<>(messages.size());
+        for (MapRecord<String, String, String> message : messages) {
+            try {
+                Log logEntity = logRecordCodec.decode(message.getValue(), message.getStream(), message.getId());
+                wrappers.add(new LogWrapper(logEntity, message.getStream(), message.getId()));
+            } catch (Exception e) {
+                // 보안: 민감 정보(value)는 로그에 남기지 않고 Message ID만 기록
+                log.error("Failed to process Redis Stream message. ID: {}", message.getId(), e);
+                rejectUndecodable(message, e);
+            }
         }
+        logBufferService.addAll(wrappers);
     }
 
-    private void applyBackpressure() {
-        long sleepMs = backpressureManager.getSleepMillis();
-        if (sleepMs <= 0) {
-            return;
+    private void rejectUndecodable(MapRecord<String, String, String> message, Exception cause) {
+        try {
+            if (!isPermanent(cause)) {
+                long deliveries = deliveryCount(message);
+                if (deliveries <= maxDeliveries) {
+                    return;
+                }
+                log.warn("[DLQ] Message {} failed {} deliveries. Moving it to durable DLQ.", message.getId(), deliveries);
+            }
+            deadLetterStore.appendRaw(message, cause.toString());
+            redisTemplate.opsForStream().acknowledge(message.getStream(), consumerGroup, message.getId());
+        } catch (Exception e) {
+            log.error("[DLQ] Failed to dead-letter message {}. Leaving it pending.", message.getId(), e);
         }
+    }
 
-        log.warn("[Backpressure] DB 지연 감지 (state={}, avg={} ms) - {} ms 대기",
-                backpressureManager.getState(),
-                String.format("%.1f", backpressureManager.getAvgLatencyMs()),
-                sleepMs);
+    private static boolean isPermanent(Exception cause) {
+        return cause instanceof IllegalArgumentException || cause instanceof DateTimeParseException;
+    }
 
-        try {
-            Thread.sleep(sleepMs);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("[Backpressure] 대기 중 인터럽트 발생. 소비를 재개합니다.");
-        }
+    private long deliveryCount(MapRecord<String, String, String> message) {
+        String id = message.getId().getValue();
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(message.getStream(), consumerGroup, Range.closed(id, id), 1);
+        return pending == null || pending.isEmpty() ? 0 : pending.get(0).getTotalDeliveryCount();
     }
 }
@@ -0,0 +1,231 @@
+package kr.java.springbootworker.service;
+
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.XTrimArgs;
+import io.lettuce.core.api.async.RedisServerAsyncCommands;
+import io.lettuce.core.api.async.RedisStreamAsyncCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import kr.java.springbootworker.config.LogStreamShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ACK가 끝난 Stream 레코드 정리 (XACK는 PEL에서만 빼고 Stream 본문은 남겨 둠)
+ * - 모든 Consumer Group 중 가장 앞선 미처리 ID를 기준선으로 삼음
+ *   (PEL이 있으면 PEL의 가장 작은 ID, 없으면 마지막으로 전달한 ID)
+ * - 기준선에서 safety-margin 만큼 더 과거까지는 남기고 XTRIM MINID ~ 로 정리
+ *   (approximate라 매크로 노드 단위로만 잘리므로 실제로는 조금 더 남음)
+ * - Consumer Group이 없는 Stream은 아직 아무도 읽지 않은 것이므로 정리하지 않음
+ * - 기준선이 PEL에 묶여 있으면 그 레코드의 나이를 worker.stream.trim.floor.age로 노출하고
+ *   floor-age-warn-ms를 넘으면 경고 (한 레코드가 ACK되지 않으면 그 뒤로는 정리되지 않아 Stream이 계속 커짐)
+ * 여러 worker가 동시에 실행해도 같은 기준선을 계산하므로 결과는 같음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogStreamTrimmer {
+
+    private static final long COMMAND_TIMEOUT_SECONDS = 10;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LogStreamShards logStreamShards;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${worker.trim.enabled:true}")
+    private boolean enabled;
+
+    // 기준선보다 이만큼 더 과거의 레코드까지는 남김 (DLQ 원본 확인 / 수동 재처리 여유)
+    @Value("${worker.trim.safety-margin-ms:300000}")
+    private long safetyMarginMs;
+
+    // 기준선(가장 오래된 미ACK 레코드)이 이보다 오래 머물러 있으면 경고
+    @Value("${worker.trim.floor-age-warn-ms:600000}")
+    private long floorAgeWarnMs;
+
+    private final Map<String, AtomicLong> lengths = new HashMap<>();
+    private final Map<String, AtomicLong> memoryBytes = new HashMap<>();
+    private final Map<String, AtomicLong> floorAges = new HashMap<>();
+    private final Set<String> stuckStreams = ConcurrentHashMap.newKeySet();
+    private Counter trimmedCounter;
+
+    @PostConstruct
+    public void init() {
+        for (String streamKey : logStreamShards.keys()) {
+            lengths.put(streamKey, new AtomicLong());
+            memoryBytes.put(streamKey, new AtomicLong());
+            floorAges.put(streamKey, new AtomicLong());
+
+            Gauge.builder("worker.stream.length", lengths.get(streamKey), AtomicLong::get)
+                    .description("Stream 레코드 수 (XLEN, 정리 주기마다 갱신)")
+                    .tag("stream", streamKey)
+                    .register(meterRegistry);
+
+            Gauge.builder("worker.stream.bytes", memoryBytes.get(streamKey), AtomicLong::get)
+                    .description("Stream이 차지하는 Redis 메모리 (MEMORY USAGE, 정리 주기마다 갱신)")
+                    .baseUnit("bytes")
+                    .tag("stream", streamKey)
+                    .register(meterRegistry);
+
+            Gauge.builder("worker.stream.trim.floor.age", floorAges.get(streamKey), AtomicLong::get)
+                    .description("정리 기준선이 된 미ACK 레코드의 나이 (PEL이 비어 있으면 0)")
+                    .baseUnit("milliseconds")
+                    .tag("stream", streamKey)
+                    .register(meterRegistry);
+        }
+
+        trimmedCounter = Counter.builder("worker.stream.trimmed")
+                .description("XTRIM MINID로 정리한 Stream 레코드 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${worker.trim.interval-ms:10000}")
+    public void trim() {
+        for (String streamKey : logStreamShards.keys()) {
+            try {
+                if (enabled) {
+                    trim(streamKey);
+                }
+                updateStats(streamKey);
+            } catch (Exception e) {
+                log.error("Error during stream trim ({})", streamKey, e);
+            }
+        }
+    }
+
+    /**
+     * @return 정리한 레코드 수 (정리하지 않았으면 0)
+     */
+    long trim(String streamKey) {
+        TrimFloor trimFloor = trimFloorOf(streamKey);
+        updateFloorAge(streamKey, trimFloor);
+        if (trimFloor == null) {
+            return 0;
+        }
+        RecordId floor = trimFloor.id();
+
+        long thresholdMillis = floor.getTimestamp() - safetyMarginMs;
+        if (thresholdMillis <= 0) {
+            return 0;
+        }
+
+        String minId = RecordId.of(thresholdMillis, 0).getValue();
+        long trimmed = xtrimMinId(streamKey, minId);
+        if (trimmed > 0) {
+            trimmedCounter.increment(trimmed);
+            log.debug("Trimmed {} entries from {} (MINID ~ {}).", trimmed, streamKey, minId);
+        }
+        return trimmed;
+    }
+
+    /**
+     * 아직 ACK되지 않았거나 전달되지 않은 레코드 중 가장 작은 ID (이 ID부터는 지우면 안 됨)
+     *
+     * @return Consumer Group이 없으면 null
+     */
+    RecordId findTrimFloor(String streamKey) {
+        TrimFloor floor = trimFloorOf(streamKey);
+        return floor != null ? floor.id() : null;
+    }
+
+    private TrimFloor trimFloorOf(String streamKey) {
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+        StreamInfo.XInfoGroups groups = streamOps.groups(streamKey);
+        if (groups == null || groups.isEmpty()) {
+            return null;
+        }
+
+        TrimFloor floor = null;
+        for (StreamInfo.XInfoGroup group : groups) {
+            TrimFloor groupFloor = new TrimFloor(RecordId.of(group.lastDeliveredId()), false);
+            if (group.pendingCount() > 0) {
+                PendingMessagesSummary pending = streamOps.pending(streamKey, group.groupName());
+                if (pending != null && pending.minRecordId() != null) {
+                    groupFloor = new TrimFloor(pending.minRecordId(), true);
+                }
+            }
+            if (floor == null || compare(groupFloor.id(), floor.id()) < 0) {
+                floor = groupFloor;
+            }
+        }
+        return floor;
+    }
+
+    // 마지막 전달 ID가 기준선이면 막힌 것이 아니므로 (Stream이 한가할 뿐) 나이는 0
+    private void updateFloorAge(String streamKey, TrimFloor floor) {
+        long ageMs = floor != null && floor.pending()
+                ? Math.max(0, System.currentTimeMillis() - floor.id().getTimestamp())
+                : 0;
+        floorAges.get(streamKey).set(ageMs);
+
+        if (ageMs > floorAgeWarnMs) {
+            if (stuckStreams.add(streamKey)) {
+                log.warn("Trim floor of {} is stuck at {} for {}ms. Stream will grow until it is acknowledged.",
+                        streamKey, floor.id(), ageMs);
+            }
+        } else if (stuckStreams.remove(streamKey)) {
+            log.info("Trim floor of {} is moving again.", streamKey);
+        }
+    }
+
+    // Spring Data Redis의 trim은 MAXLEN만 지원해서 Lettuce 명령을 직접 사용
+    @SuppressWarnings("unchecked")
+    long xtrimMinId(String streamKey, String minId) {
+        Long trimmed = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            RedisStreamAsyncCommands<byte[], byte[]> commands =
+                    (RedisStreamAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            return LettuceFutures.awaitOrCancel(
+                    commands.xtrim(bytes(streamKey), XTrimArgs.Builder.minId(minId).approximateTrimming()),
+                    COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        });
+        return trimmed != null ? trimmed : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateStats(String streamKey) {
+        Long length = redisTemplate.opsForStream().size(streamKey);
+        lengths.get(streamKey).set(length != null ? length : 0);
+
+        Long bytes = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            RedisServerAsyncCommands<byte[], byte[]> commands =
+                    (RedisServerAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            return LettuceFutures.awaitOrCancel(
+                    commands.memoryUsage(bytes(streamKey)), COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        });
+        memoryBytes.get(streamKey).set(bytes != null ? bytes : 0);
+    }
+
+    private static int compare(RecordId a, RecordId b) {
+        int byTime = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return byTime != 0 ? byTime : Long.compare(a.getSequence(), b.getSequence());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param pending PEL의 가장 작은 ID이면 true, 마지막으로 전달한 ID이면 false
+     */
+    private record TrimFloor(RecordId id, boolean pending) {
+    }
+}
@@ -0,0 +1,61 @@
+package kr.java.springbootworker.service;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * log 파티션 단위 (worker.partition.interval)
+ * 파티션 이름은 log_p + 시작 시각 (UTC) - DAY: log_p20260101, HOUR: log_p2026010113
+ */
+public enum PartitionInterval {
+    DAY(ChronoUnit.DAYS, "yyyyMMdd"),
+    HOUR(ChronoUnit.HOURS, "yyyyMMddHH");
+
+    public static final String NAME_PREFIX = "log_p";
+
+    private final ChronoUnit unit;
+    private final int suffixLength;
+    private final DateTimeFormatter format;
+
+    PartitionInterval(ChronoUnit unit, String pattern) {
+        this.unit = unit;
+        this.suffixLength = pattern.length();
+        this.format = new DateTimeFormatterBuilder()
+                .appendPattern(pattern)
+                .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                .toFormatter();
+    }
+
+    public OffsetDateTime truncate(OffsetDateTime time) {
+        return time.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(unit);
+    }
+
+    public OffsetDateTime next(OffsetDateTime start) {
+        return start.plus(1, unit);
+    }
+
+    public String partitionName(OffsetDateTime start) {
+        return NAME_PREFIX + format.format(start.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+
+    /**
+     * @return 이 단위로 만든 파티션 이름이면 시작 시각, 아니면 null (default 파티션, 다른 단위, 직접 만든 테이블)
+     */
+    public OffsetDateTime parseStart(String partitionName) {
+        if (!partitionName.startsWith(NAME_PREFIX) || partitionName.length() != NAME_PREFIX.length() + suffixLength) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(partitionName.substring(NAME_PREFIX.length()), format).atOffset(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package kr.java.springbootworker.service;
+
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순 UUIDv7 (RFC 9562) 생성기 - log_id 기본 키용
+ * - 상위 48비트 unix ms + 12비트 카운터(rand_a) + 62비트 난수(rand_b)
+ * - 같은 ms 안에서는 카운터를 올려 단조 증가 보장 (카운터가 넘치면 다음 ms 값을 미리 사용)
+ * - 새 키가 항상 btree 오른쪽 끝에 붙으므로 v4처럼 인덱스 전체에 흩어져 쓰이지 않음
+ * UUID 객체 외에는 할당하지 않고, 상태는 AtomicLong 하나로 CAS 갱신
+ */
+public final class UuidV7 {
+
+    private static final long VERSION_BITS = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // (unix ms << 12) | counter - 마지막으로 발급한 값
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long next = nextTimeAndCounter(LAST, System.currentTimeMillis());
+        long msb = ((next >>> 12) << 16) | VERSION_BITS | (next & 0xFFF);
+        long lsb = VARIANT_BITS | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    static long nextTimeAndCounter(AtomicLong state, long nowMillis) {
+        long candidate = nowMillis << 12;
+        while (true) {
+            long last = state.get();
+            // 시계가 그대로거나 뒤로 간 경우에도 직전 값보다 크게
+            long next = candidate > last ? candidate : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Stream 레코드에서 항상 같은 값이 나오는 UUIDv7
+     * - 시각: RecordId의 ms (레코드가 Stream에 들어간 시각이므로 시간순 정렬은 그대로)
+     * - rand_a: 시퀀스 하위 12비트, rand_b: Stream 키 + 시퀀스 해시
+     * 같은 레코드를 다시 받아도(XACK 유실 후 reclaim 등) 같은 log_id가 나와 중복 INSERT가 걸러짐
+     */
+    public static UUID fromStreamRecord(String streamKey, RecordId recordId) {
+        long millis = recordId.getTimestamp();
+        long sequence = recordId.getSequence();
+        long msb = (millis << 16) | VERSION_BITS | (sequence & 0xFFF);
+        long lsb = VARIANT_BITS | (hash(streamKey, sequence) & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    // FNV-1a 64 + murmur3 finalizer (암호학적 해시가 아니라 분산용)
+    private static long hash(String streamKey, long sequence) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : streamKey.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= sequence;
+        h *= 0x100000001b3L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * UUIDv7에 들어있는 생성 시각 (unix ms)
+     */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,77 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.service.LogBufferService.DrainResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * worker 시작/종료 순서
+ * - 시작: Stream 소비 시작
+ * - 종료 (SIGTERM): Stream 읽기 중지 → PEL 회수 중지 → 버퍼 / 재시도 큐 적재 + ACK (drain-timeout 안에서)
+ *   → 이후 일반 빈 종료(@PreDestroy)에서 스레드 풀 / heartbeat 정리
+ * 종료 시 ACK까지 끝내므로 롤링 배포 때 내려간 pod의 레코드가 PEL에 쌓여 한꺼번에 회수되지 않음
+ * 웹 서버(API 수신)가 먼저 멈추도록 웹 서버 종료 phase (DEFAULT_PHASE - 2048) 보다 낮은 phase 사용
+ * drain-timeout은 spring.lifecycle.timeout-per-shutdown-phase (기본 30초) 보다 짧아야 함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkerLifecycle implements SmartLifecycle {
+
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final LogStreamConsumer logStreamConsumer;
+    private final LogReclaimService logReclaimService;
+    private final LogBufferService logBufferService;
+
+    @Value("${worker.shutdown.drain-timeout-ms:20000}")
+    private long drainTimeoutMs;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        logStreamConsumer.start();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        log.info("Shutting down log worker. Draining buffered logs (timeout: {}ms).", drainTimeoutMs);
+
+        try {
+            logStreamConsumer.stop();
+            logReclaimService.stop();
+
+            DrainResult result = logBufferService.drain(Duration.ofMillis(drainTimeoutMs));
+            if (result.pending() > 0) {
+                log.warn("Drain timed out after {}ms. Drained {} logs, {} left pending for reclaim.",
+                        result.elapsedMs(), result.drained(), result.pending());
+            } else {
+                log.info("Drained {} logs in {}ms. Nothing left pending.", result.drained(), result.elapsedMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while draining. Remaining logs stay pending for reclaim.");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,133 @@
+package kr.java.springbootworker.repository;
+
+import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.service.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * log_id를 UUIDv4 / UUIDv7로 만들 때의 적재 속도, PK 인덱스 크기, WAL 양 비교 (./gradlew benchmark)
+ * 테이블이 커질수록 차이가 나므로 같은 테이블에 배치를 계속 쌓으면서 측정
+ * localhost:5432 PostgreSQL 필요
+ */
+@Tag("benchmark")
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LogJdbcRepository.class, LogCopyWriter.class})
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:postgresql://localhost:5432/logdb?reWriteBatchedInserts=true",
+    "spring.datasource.username=postgres",
+    "spring.datasource.password=postgres",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "worker.jdbc.writer=batch"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LogIdBenchmark {
+
+    private static final int BATCHES = 40;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private LogJdbcRepository logJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("UUIDv4 vs UUIDv7 적재 속도 / 인덱스 크기 / WAL 비교")
+    void compareIdVersions() {
+        // JIT / 커넥션 워밍업
+        run("warmup", UUID::randomUUID, 2);
+
+        System.out.println("id,rows,millis,rows_per_sec,last_batch_rows_per_sec,pkey_mb,wal_mb");
+        run("v4", UUID::randomUUID, BATCHES);
+        run("v7", UuidV7::generate, BATCHES);
+    }
+
+    private void run(String name, Supplier<UUID> ids, int batches) {
+        createTable();
+        long walStart = currentWalBytes();
+        long totalNanos = 0;
+        long lastBatchNanos = 0;
+
+        for (int b = 0; b < batches; b++) {
+            List<Log> logs = createLogs(ids);
+            long start = System.nanoTime();
+            logJdbcRepository.saveAll(logs);
+            lastBatchNanos = System.nanoTime() - start;
+            totalNanos += lastBatchNanos;
+        }
+
+        long rows = (long) batches * BATCH_SIZE;
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM log", Long.class);
+        assertThat(count).isEqualTo(rows);
+
+        if (!"warmup".equals(name)) {
+            Long pkeyBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('log_pkey')", Long.class);
+            long walBytes = currentWalBytes() - walStart;
+            System.out.printf("%s,%d,%.1f,%.0f,%.0f,%.1f,%.1f%n", name, rows, totalNanos / 1e6,
+                    rows / (totalNanos / 1e9), BATCH_SIZE / (lastBatchNanos / 1e9),
+                    pkeyBytes / 1048576.0, walBytes / 1048576.0);
+        }
+    }
+
+    // 파티션 없이 PK btree 하나만 두어 키 분포의 영향만 봄
+    private void createTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS log CASCADE");
+        jdbcTemplate.execute("CREATE TABLE log (" +
+                "log_id UUID PRIMARY KEY, " +
+                "project_id VARCHAR(255) NOT NULL, " +
+                "session_id VARCHAR(255) NOT NULL, " +
+                "user_id VARCHAR(255), " +
+                "severity VARCHAR(255) NOT NULL, " +
+                "body TEXT NOT NULL, " +
+                "occurred_at TIMESTAMPTZ NOT NULL, " +
+                "ingested_at TIMESTAMPTZ NOT NULL, " +
+                "trace_id VARCHAR(255), " +
+                "span_id VARCHAR(255), " +
+                "fingerprint VARCHAR(255), " +
+                "resource_ref VARCHAR(32), " +
+                "attributes JSONB NOT NULL)");
+        jdbcTemplate.execute("CHECKPOINT");
+    }
+
+    private long currentWalBytes() {
+        return jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn() - '0/0'::pg_lsn", Long.class);
+    }
+
+    private List<Log> createLogs(Supplier<UUID> ids) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Log> logs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            logs.add(Log.builder()
+                    .logId(ids.get())
+                    .projectId("project-1")
+                    .sessionId("session-" + (i % 100))
+                    .userId("user-" + (i % 1000))
+                    .severity(i % 10 == 0 ? "ERROR" : "INFO")
+                    .body("Player moved to zone " + i)
+                    .occurredAt(now)
+                    .ingestedAt(now)
+                    .attributesJson("{\"fps\": 60}")
+                    .build());
+        }
+        return logs;
+    }
+}
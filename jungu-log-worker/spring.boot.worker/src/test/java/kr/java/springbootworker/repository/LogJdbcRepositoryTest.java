@@ -1,16 +1,20 @@
 package kr.java.springbootworker.repository;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.service.LogRecordCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -23,7 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJdbcTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@Import({LogJdbcRepository.class, ObjectMapper.class})
+@Import({LogJdbcRepository.class, LogCopyWriter.class})
 @TestPropertySource(properties = {
     "spring.datasource.url=jdbc:postgresql://localhost:5432/logdb?reWriteBatchedInserts=true",
     "spring.datasource.username=postgres",
@@ -56,7 +60,7 @@ class LogJdbcRepositoryTest {
                 "trace_id VARCHAR(255), " +
                 "span_id VARCHAR(255), " +
                 "fingerprint VARCHAR(255), " +
-                "resource JSONB NOT NULL, " +
+                "resource_ref VARCHAR(32), " +
                 "attributes JSONB NOT NULL, " +
                 "PRIMARY KEY (log_id, occurred_at)" + 
                 ") PARTITION BY RANGE (occurred_at)");
@@ -72,9 +76,6 @@ class LogJdbcRepositoryTest {
         int dataSize = 100;
         List<Log> logs = new ArrayList<>();
         for (int i = 0; i < dataSize; i++) {
-            Map<String, Object> resource = new HashMap<>();
-            resource.put("service", "test-service");
-            
             Map<String, Object> attributes = new HashMap<>();
             attributes.put("http.method", "GET");
 
@@ -90,7 +91,7 @@ class LogJdbcRepositoryTest {
                     .traceId(UUID.randomUUID().toString())
                     .spanId(UUID.randomUUID().toString())
                     .fingerprint("fingerprint-" + i)
-                    .resource(resource)
+                    .resourceRef("test-resource-ref")
                     .attributes(attributes)
                     .build());
         }
@@ -107,4 +108,68 @@ class LogJdbcRepositoryTest {
         Integer partitionCount = jdbcTemplate.queryForObject("SELECT count(*) FROM log_default", Integer.class);
         assertThat(partitionCount).isEqualTo(dataSize);
     }
+
+    @Test
+    @DisplayName("COPY BINARY로 적재한 값이 INSERT와 같게 조회되어야 한다")
+    void copyInsertTest() {
+        // given
+        ReflectionTestUtils.setField(logJdbcRepository, "writer", "copy");
+        UUID logId = UUID.randomUUID();
+        OffsetDateTime occurredAt = OffsetDateTime.parse("2026-01-01T09:00:00.123456+09:00");
+        Log log = Log.builder()
+                .logId(logId)
+                .projectId("project-1")
+                .sessionId("session-1")
+                .severity("ERROR")
+                .body("한글 본문")
+                .occurredAt(occurredAt)
+                .ingestedAt(occurredAt.plusSeconds(1))
+                .attributes(Map.of("http.method", "GET"))
+                .build();
+
+        // when
+        logJdbcRepository.saveAll(List.of(log));
+
+        // then
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT body, user_id, occurred_at = ?::timestamptz AS same_time, attributes->>'http.method' AS method " +
+                        "FROM log WHERE log_id = ?", occurredAt.toString(), logId);
+        assertThat(row.get("body")).isEqualTo("한글 본문");
+        assertThat(row.get("user_id")).isNull();
+        assertThat(row.get("same_time")).isEqualTo(true);
+        assertThat(row.get("method")).isEqualTo("GET");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"batch", "copy"})
+    @DisplayName("이미 적재한 Stream 레코드를 다시 받아 적재해도 중복 행이 생기지 않아야 한다")
+    void redeliveredBatch_shouldNotDuplicateRows(String writer) {
+        // given - reclaim으로 같은 레코드를 다시 읽은 상황 (resourceRef가 없어 resolver는 쓰이지 않음)
+        ReflectionTestUtils.setField(logJdbcRepository, "writer", writer);
+        LogRecordCodec codec = new LogRecordCodec(null);
+        int dataSize = 100;
+        List<Map<String, String>> records = new ArrayList<>();
+        for (int i = 0; i < dataSize; i++) {
+            records.add(Map.of("projectId", "project-1", "body", "Log message " + i));
+        }
+        logJdbcRepository.saveAll(decode(codec, records));
+
+        // when - 처음 적재한 묶음 전체 + 새 레코드 하나
+        List<Log> redelivered = decode(codec, records);
+        redelivered.add(codec.decode(Map.of("projectId", "project-1", "body", "new"),
+                "log-stream", RecordId.of(1767225600000L, dataSize)));
+        logJdbcRepository.saveAll(redelivered);
+
+        // then
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM log", Integer.class);
+        assertThat(count).isEqualTo(dataSize + 1);
+    }
+
+    private List<Log> decode(LogRecordCodec codec, List<Map<String, String>> records) {
+        List<Log> logs = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            logs.add(codec.decode(records.get(i), "log-stream", RecordId.of(1767225600000L, i)));
+        }
+        return logs;
+    }
 }
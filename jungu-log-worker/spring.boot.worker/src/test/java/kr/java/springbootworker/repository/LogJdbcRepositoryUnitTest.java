@@ -1,25 +1,34 @@
 package kr.java.springbootworker.repository;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.java.springbootworker.domain.entity.logs.Log;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class LogJdbcRepositoryUnitTest {
@@ -28,7 +37,10 @@ class LogJdbcRepositoryUnitTest {
     private JdbcTemplate jdbcTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private LogCopyWriter logCopyWriter;
+
+    @Mock
+    private Connection connection;
 
     @InjectMocks
     private LogJdbcRepository logJdbcRepository;
@@ -48,7 +60,6 @@ class LogJdbcRepositoryUnitTest {
                 .sessionId("test-session")
                 .severity("INFO")
                 .body("test body")
-                .resource(Collections.emptyMap())
                 .attributes(Collections.emptyMap())
                 .build();
         List<Log> logs = List.of(log);
@@ -59,4 +70,55 @@ class LogJdbcRepositoryUnitTest {
         // then
         verify(jdbcTemplate, times(1)).batchUpdate(any(String.class), any(BatchPreparedStatementSetter.class));
     }
+
+    @Test
+    @DisplayName("copy 모드에서는 COPY로 적재하고 batchUpdate는 실행하지 않아야 한다")
+    void saveAll_shouldUseCopyWriter() throws Exception {
+        // given
+        ReflectionTestUtils.setField(logJdbcRepository, "writer", "copy");
+        givenConnection();
+        List<Log> logs = List.of(testLog());
+
+        // when
+        logJdbcRepository.saveAll(logs);
+
+        // then
+        verify(logCopyWriter, times(1)).copyAll(connection, logs);
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("COPY가 실패하면 savepoint로 되돌리고 batchUpdate로 적재해야 한다")
+    void saveAll_shouldFallBackToBatchUpdate() throws Exception {
+        // given
+        ReflectionTestUtils.setField(logJdbcRepository, "writer", "copy");
+        Savepoint savepoint = givenConnection();
+        doThrow(new SQLException("copy failed")).when(logCopyWriter).copyAll(any(), anyList());
+
+        // when
+        logJdbcRepository.saveAll(List.of(testLog()));
+
+        // then
+        verify(connection, times(1)).rollback(savepoint);
+        verify(jdbcTemplate, times(1)).batchUpdate(any(String.class), any(BatchPreparedStatementSetter.class));
+    }
+
+    private Savepoint givenConnection() throws SQLException {
+        Savepoint savepoint = mock(Savepoint.class);
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Object>>any())).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        return savepoint;
+    }
+
+    private Log testLog() {
+        return Log.builder()
+                .logId(UUID.randomUUID())
+                .projectId("test-project")
+                .sessionId("test-session")
+                .severity("INFO")
+                .body("test body")
+                .attributes(Collections.emptyMap())
+                .build();
+    }
 }
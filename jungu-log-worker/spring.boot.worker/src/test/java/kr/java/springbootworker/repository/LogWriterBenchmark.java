@@ -0,0 +1,121 @@
+package kr.java.springbootworker.repository;
+
+import kr.java.springbootworker.domain.entity.logs.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * batchUpdate vs COPY BINARY 적재 속도 비교 (./gradlew benchmark)
+ * localhost:5432 PostgreSQL 필요
+ */
+@Tag("benchmark")
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LogJdbcRepository.class, LogCopyWriter.class})
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:postgresql://localhost:5432/logdb?reWriteBatchedInserts=true",
+    "spring.datasource.username=postgres",
+    "spring.datasource.password=postgres",
+    "spring.datasource.driver-class-name=org.postgresql.Driver"
+})
+class LogWriterBenchmark {
+
+    private static final int[] BATCH_SIZES = {1_000, 10_000, 100_000};
+
+    @Autowired
+    private LogJdbcRepository logJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS log CASCADE");
+        jdbcTemplate.execute("CREATE TABLE log (" +
+                "log_id UUID, " +
+                "project_id VARCHAR(255) NOT NULL, " +
+                "session_id VARCHAR(255) NOT NULL, " +
+                "user_id VARCHAR(255), " +
+                "severity VARCHAR(255) NOT NULL, " +
+                "body TEXT NOT NULL, " +
+                "occurred_at TIMESTAMPTZ NOT NULL, " +
+                "ingested_at TIMESTAMPTZ NOT NULL, " +
+                "trace_id VARCHAR(255), " +
+                "span_id VARCHAR(255), " +
+                "fingerprint VARCHAR(255), " +
+                "resource_ref VARCHAR(32), " +
+                "attributes JSONB NOT NULL, " +
+                "PRIMARY KEY (log_id, occurred_at)" +
+                ") PARTITION BY RANGE (occurred_at)");
+        jdbcTemplate.execute("CREATE TABLE log_default PARTITION OF log DEFAULT");
+    }
+
+    @Test
+    @DisplayName("batchUpdate와 COPY BINARY 적재 속도 비교 (1k / 10k / 100k)")
+    void compareWriters() {
+        // JIT / 커넥션 워밍업
+        measure("batch", createLogs(1_000));
+        measure("copy", createLogs(1_000));
+
+        System.out.println("writer,rows,millis,rows_per_sec");
+        for (int size : BATCH_SIZES) {
+            List<Log> logs = createLogs(size);
+            for (String writer : new String[]{"batch", "copy"}) {
+                long nanos = measure(writer, logs);
+                System.out.printf("%s,%d,%.1f,%.0f%n", writer, size, nanos / 1e6, size / (nanos / 1e9));
+            }
+        }
+    }
+
+    private long measure(String writer, List<Log> logs) {
+        jdbcTemplate.execute("TRUNCATE log");
+        ReflectionTestUtils.setField(logJdbcRepository, "writer", writer);
+
+        long start = System.nanoTime();
+        logJdbcRepository.saveAll(logs);
+        long elapsed = System.nanoTime() - start;
+
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM log", Integer.class);
+        assertThat(count).isEqualTo(logs.size());
+        return elapsed;
+    }
+
+    private List<Log> createLogs(int size) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Log> logs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            logs.add(Log.builder()
+                    .logId(UUID.randomUUID())
+                    .projectId("project-1")
+                    .sessionId("session-" + (i % 100))
+                    .userId("user-" + (i % 1000))
+                    .severity(i % 10 == 0 ? "ERROR" : "INFO")
+                    .body("Player moved to zone " + i)
+                    .occurredAt(now.minusNanos(i * 1_000L))
+                    .ingestedAt(now)
+                    .traceId(UUID.randomUUID().toString())
+                    .spanId(UUID.randomUUID().toString())
+                    .resourceRef("resource-ref")
+                    .attributes(Map.of("fps", 60, "scene", "lobby"))
+                    .build());
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,104 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBatchControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveBatchController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdaptiveBatchController(meterRegistry);
+        ReflectionTestUtils.setField(controller, "enabled", true);
+        ReflectionTestUtils.setField(controller, "targetLatencyMs", 200L);
+        ReflectionTestUtils.setField(controller, "minBatchSize", 100);
+        ReflectionTestUtils.setField(controller, "maxBatchSize", 5000);
+        ReflectionTestUtils.setField(controller, "sizeStep", 100);
+        ReflectionTestUtils.setField(controller, "minIntervalMs", 100L);
+        ReflectionTestUtils.setField(controller, "maxIntervalMs", 2000L);
+        ReflectionTestUtils.setField(controller, "intervalStepMs", 50L);
+    }
+
+    @Test
+    @DisplayName("가득 찬 배치가 목표 지연 안에 적재되면 배치 크기를 step만큼 늘려야 한다")
+    void onFlush_shouldIncreaseSizeAdditively() {
+        controller.start(1000, 1000, 10000);
+
+        controller.onFlush(1000, 50);
+        controller.onFlush(1100, 50);
+
+        assertThat(controller.getBatchSize()).isEqualTo(1200);
+        assertThat(controller.getFlushIntervalMs()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("목표 지연을 넘으면 배치 크기는 절반, flush 주기는 두 배가 되고 범위를 벗어나지 않아야 한다")
+    void onFlush_shouldDecreaseMultiplicatively() {
+        controller.start(1000, 1000, 10000);
+
+        controller.onFlush(1000, 500);
+        assertThat(controller.getBatchSize()).isEqualTo(500);
+        assertThat(controller.getFlushIntervalMs()).isEqualTo(2000);
+
+        for (int i = 0; i < 5; i++) {
+            controller.onFlush(100, 500);
+        }
+        assertThat(controller.getBatchSize()).isEqualTo(100);
+        assertThat(controller.getFlushIntervalMs()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("적재가 실패하면 배치 크기는 절반, flush 주기는 두 배가 되어야 한다")
+    void onFailure_shouldDecreaseMultiplicatively() {
+        controller.start(1000, 200, 10000);
+
+        controller.onFailure(30);
+
+        assertThat(controller.getBatchSize()).isEqualTo(500);
+        assertThat(controller.getFlushIntervalMs()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("배치가 덜 찬 채로 빠르게 적재되면 flush 주기를 줄여야 한다")
+    void onFlush_shouldShortenIntervalWhenUnderfilled() {
+        controller.start(1000, 200, 10000);
+
+        controller.onFlush(10, 5);
+        controller.onFlush(10, 5);
+        controller.onFlush(10, 5);
+
+        assertThat(controller.getFlushIntervalMs()).isEqualTo(100);
+        assertThat(controller.getBatchSize()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("최대 배치 크기는 버퍼 용량을 넘을 수 없다")
+    void start_shouldBoundMaxSizeByBufferCapacity() {
+        controller.start(1000, 1000, 800);
+
+        assertThat(controller.getBatchSize()).isEqualTo(800);
+        assertThat(controller.getMaxBatchSize()).isEqualTo(800);
+        assertThat(meterRegistry.get("worker.bulk.batch.size").gauge().value()).isEqualTo(800);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 설정한 고정값을 그대로 유지해야 한다")
+    void onFlush_shouldKeepStaticValuesWhenDisabled() {
+        ReflectionTestUtils.setField(controller, "enabled", false);
+        controller.start(1000, 1000, 10000);
+
+        controller.onFlush(1000, 5000);
+
+        assertThat(controller.getBatchSize()).isEqualTo(1000);
+        assertThat(controller.getFlushIntervalMs()).isEqualTo(1000);
+        assertThat(controller.snapshot().lastLatencyMs()).isEqualTo(5000);
+    }
+}
@@ -0,0 +1,127 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackpressureManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+
+    private BackpressureManager backpressureManager;
+
+    @BeforeEach
+    void setUp() {
+        backpressureManager = new BackpressureManager(meterRegistry);
+        ReflectionTestUtils.setField(backpressureManager, "degradedLatencyMs", 500L);
+        ReflectionTestUtils.setField(backpressureManager, "criticalLatencyMs", 2000L);
+        ReflectionTestUtils.setField(backpressureManager, "degradedOccupancy", 0.5);
+        ReflectionTestUtils.setField(backpressureManager, "criticalOccupancy", 0.9);
+        ReflectionTestUtils.setField(backpressureManager, "latencyWindowMs", 10000L);
+        ReflectionTestUtils.setField(backpressureManager, "failureThreshold", 3);
+        backpressureManager.init();
+        backpressureManager.bindBuffer(bufferSize::get, 100);
+    }
+
+    @Test
+    @DisplayName("버퍼 점유율에 따라 상태와 크레딧이 줄어들어야 한다")
+    void credits_shouldShrinkWithOccupancy() {
+        // NORMAL: 요청한 만큼
+        assertThat(backpressureManager.tryAcquireCredits(40)).isEqualTo(40);
+        backpressureManager.releaseCredits(40);
+
+        // DEGRADED: 절반
+        bufferSize.set(60);
+        assertThat(backpressureManager.getState()).isEqualTo(BackpressureState.DEGRADED);
+        assertThat(backpressureManager.tryAcquireCredits(40)).isEqualTo(20);
+        backpressureManager.releaseCredits(20);
+
+        // CRITICAL: 발급 중단
+        bufferSize.set(95);
+        assertThat(backpressureManager.getState()).isEqualTo(BackpressureState.CRITICAL);
+        assertThat(backpressureManager.tryAcquireCredits(40)).isZero();
+        assertThat(meterRegistry.get("worker.backpressure.state").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("연속 적재 실패가 기준에 닿으면 CRITICAL이 되고, 한 번 성공하면 풀려야 한다")
+    void recordFailure_shouldForceCriticalUntilSuccess() {
+        // 평소 지연이 낮았던 상태라 실패 표본 두 번으로는 EWMA가 critical에 닿지 않음
+        backpressureManager.recordLatency(10);
+        backpressureManager.recordFailure(10);
+        backpressureManager.recordFailure(10);
+        assertThat(backpressureManager.getState()).isNotEqualTo(BackpressureState.CRITICAL);
+
+        backpressureManager.recordFailure(10);
+        assertThat(backpressureManager.getState()).isEqualTo(BackpressureState.CRITICAL);
+        assertThat(backpressureManager.tryAcquireCredits(40)).isZero();
+
+        // 실패는 critical 지연으로 반영되어 있으므로 성공 후에도 EWMA가 내려갈 때까지는 줄어든 상태
+        backpressureManager.recordLatency(10);
+        assertThat(backpressureManager.getState()).isNotEqualTo(BackpressureState.CRITICAL);
+        assertThat(backpressureManager.tryAcquireCredits(40)).isPositive();
+    }
+
+    @Test
+    @DisplayName("발급된 크레딧은 반납 전까지 버퍼 빈자리에서 빠져야 한다")
+    void credits_shouldNotExceedFreeSlots() {
+        assertThat(backpressureManager.tryAcquireCredits(30)).isEqualTo(30);
+        assertThat(backpressureManager.tryAcquireCredits(30)).isEqualTo(30);
+
+        // 빈자리 70 - 발급 60 = 10 만큼만 추가 발급
+        bufferSize.set(30);
+        assertThat(backpressureManager.tryAcquireCredits(30)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("DB 지연이 임계치를 넘으면 CRITICAL, 측정이 오래되면 다시 NORMAL이어야 한다")
+    void latency_shouldDriveStateWithinWindow() {
+        backpressureManager.recordLatency(3000);
+        assertThat(backpressureManager.getState()).isEqualTo(BackpressureState.CRITICAL);
+
+        ReflectionTestUtils.setField(backpressureManager, "latencyWindowMs", 0L);
+        assertThat(backpressureManager.getState()).isEqualTo(BackpressureState.NORMAL);
+    }
+
+    @Test
+    @DisplayName("CRITICAL에서 멈춘 Consumer는 적재가 끝나 회복되면 바로 크레딧을 받아야 한다")
+    void acquireCredits_shouldResumeWhenRecovered() throws Exception {
+        // given
+        bufferSize.set(95);
+        CompletableFuture<Integer> credits = CompletableFuture.supplyAsync(() -> {
+            try {
+                return backpressureManager.acquireCredits(10, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(credits).isNotDone();
+
+        // when: writer가 버퍼를 비우고 적재 지연을 기록
+        bufferSize.set(0);
+        backpressureManager.recordLatency(10);
+
+        // then
+        assertThat(credits.get(1, TimeUnit.SECONDS)).isEqualTo(10);
+        assertThat(meterRegistry.get("worker.backpressure.pauses").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("maxWait 안에 회복되지 않으면 0을 반환해야 한다")
+    void acquireCredits_shouldTimeOut() throws Exception {
+        bufferSize.set(95);
+
+        assertThat(backpressureManager.acquireCredits(10, Duration.ofMillis(50))).isZero();
+    }
+}
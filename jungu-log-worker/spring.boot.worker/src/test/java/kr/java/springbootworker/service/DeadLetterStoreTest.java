@@ -0,0 +1,142 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.repository.LogJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterStoreTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOps;
+
+    @Mock
+    private LogStreamShards logStreamShards;
+
+    @Mock
+    private LogRecordCodec logRecordCodec;
+
+    @Mock
+    private LogJdbcRepository logJdbcRepository;
+
+    private DeadLetterStore deadLetterStore;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterStore = new DeadLetterStore(
+                redisTemplate, logStreamShards, logRecordCodec, logJdbcRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(deadLetterStore, "replayBatchSize", 2);
+        deadLetterStore.init();
+        when(logStreamShards.deadLetterKey()).thenReturn("log-stream:dlq");
+        when(redisTemplate.opsForStream()).thenReturn(streamOps);
+    }
+
+    @Test
+    @DisplayName("보관된 로그를 묶음으로 다시 적재하고, 적재된 항목만 DLQ에서 지워야 한다")
+    void replay_shouldSaveAndDeleteInBatches() {
+        // given
+        MapRecord<String, Object, Object> e1 = entry("1-0", "a");
+        MapRecord<String, Object, Object> broken = entry("2-0", "broken");
+        MapRecord<String, Object, Object> e3 = entry("3-0", "c");
+        when(streamOps.range(eq("log-stream:dlq"), any(), any(Limit.class)))
+                .thenReturn(List.of(e1, broken))
+                .thenReturn(List.of(e3))
+                .thenReturn(List.of());
+        when(logRecordCodec.decode(Map.of("body", "a"))).thenReturn(Log.builder().body("a").build());
+        when(logRecordCodec.decode(Map.of("body", "broken"))).thenThrow(new IllegalArgumentException("broken"));
+        when(logRecordCodec.decode(Map.of("body", "c"))).thenReturn(Log.builder().body("c").build());
+        when(streamOps.size("log-stream:dlq")).thenReturn(1L);
+
+        // when
+        DeadLetterStore.ReplayResult result = deadLetterStore.replay(100);
+
+        // then
+        assertThat(result.replayed()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(result.remaining()).isEqualTo(1L);
+        assertThat(result.error()).isNull();
+        verify(streamOps).delete("log-stream:dlq", RecordId.of("1-0"));
+        verify(streamOps).delete("log-stream:dlq", RecordId.of("3-0"));
+
+        // 두 번째 조회는 마지막으로 본 ID 다음부터
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArgumentCaptor<Range<String>> ranges = ArgumentCaptor.forClass((Class) Range.class);
+        verify(streamOps, times(3)).range(eq("log-stream:dlq"), ranges.capture(), any(Limit.class));
+        assertThat(ranges.getAllValues().get(1).getLowerBound())
+                .isEqualTo(Range.Bound.exclusive("2-0"));
+    }
+
+    @Test
+    @DisplayName("DB가 아직 실패하면 지우지 않고 멈춰야 한다")
+    void replay_shouldStopWhenDbFails() {
+        // given
+        when(streamOps.range(eq("log-stream:dlq"), any(), any(Limit.class)))
+                .thenReturn(List.of(entry("1-0", "a")));
+        when(logRecordCodec.decode(Map.of("body", "a"))).thenReturn(Log.builder().body("a").build());
+        doThrow(new DataAccessResourceFailureException("db down")).when(logJdbcRepository).saveAll(anyList());
+        when(streamOps.size("log-stream:dlq")).thenReturn(1L);
+
+        // when
+        DeadLetterStore.ReplayResult result = deadLetterStore.replay(100);
+
+        // then
+        assertThat(result.replayed()).isZero();
+        assertThat(result.error()).isEqualTo("db down");
+        verify(streamOps, never()).delete(eq("log-stream:dlq"), any(RecordId[].class));
+    }
+
+    @Test
+    @DisplayName("DLQ가 가득 차면 오래된 항목을 밀어내지 않고 보관을 거부해야 한다")
+    void append_shouldRejectWhenFull() {
+        // given
+        ReflectionTestUtils.setField(deadLetterStore, "maxLength", 2L);
+        when(streamOps.size("log-stream:dlq")).thenReturn(2L);
+        List<LogBufferService.LogWrapper> wrappers = List.of(
+                new LogBufferService.LogWrapper(Log.builder().body("a").build(), "log-stream", RecordId.of("1-0")));
+
+        // when & then
+        assertThatThrownBy(() -> deadLetterStore.append(wrappers, "db down"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    private MapRecord<String, Object, Object> entry(String id, String body) {
+        return StreamRecords.<String, Object, Object>mapBacked(Map.of("body", body))
+                .withStreamKey("log-stream:dlq").withId(RecordId.of(id));
+    }
+}
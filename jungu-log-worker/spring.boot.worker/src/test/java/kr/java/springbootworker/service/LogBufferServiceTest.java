@@ -0,0 +1,284 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.repository.LogJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogBufferServiceTest {
+
+    @Mock
+    private LogJdbcRepository logJdbcRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private BackpressureManager backpressureManager;
+
+    @Mock
+    private LogMapper logMapper;
+
+    @Mock
+    private DeadLetterStore deadLetterStore;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LogBufferService logBufferService;
+
+    @BeforeEach
+    void setUp() {
+        logBufferService = newService(deadLetterStore);
+    }
+
+    private LogBufferService newService(DeadLetterStore store) {
+        return newService(store, backpressureManager);
+    }
+
+    private LogBufferService newService(DeadLetterStore store, BackpressureManager backpressure) {
+        AdaptiveBatchController batchController = new AdaptiveBatchController(meterRegistry);
+        ReflectionTestUtils.setField(batchController, "enabled", false);
+        LogBufferService logBufferService = new LogBufferService(
+                logJdbcRepository, redisTemplate, backpressure, batchController, meterRegistry, logMapper,
+                store);
+        ReflectionTestUtils.setField(logBufferService, "batchSize", 4);
+        ReflectionTestUtils.setField(logBufferService, "maxBufferSize", 4);
+        ReflectionTestUtils.setField(logBufferService, "retryQueueSize", 10);
+        ReflectionTestUtils.setField(logBufferService, "maxRetryCount", 3);
+        ReflectionTestUtils.setField(logBufferService, "consumerGroup", "log-group");
+        return logBufferService;
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: 버퍼가 가득 차면 가장 오래된 로그를 버리고 새 로그를 넣어야 한다")
+    void add_shouldDropOldestWhenFull() {
+        // given
+        ReflectionTestUtils.setField(logBufferService, "fullPolicy", BufferFullPolicy.DROP_OLDEST);
+        startWithoutWriters();
+
+        // when
+        for (int i = 1; i <= 5; i++) {
+            logBufferService.add(log("log-" + i));
+        }
+        logBufferService.drainAndSave(new LogBufferService.LogWrapper[4]);
+
+        // then
+        assertThat(savedBodies()).containsExactly("log-2", "log-3", "log-4", "log-5");
+        assertThat(meterRegistry.get("worker.buffer.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SPILL: 버퍼가 가득 차면 새 로그를 DLQ로 넘겨야 한다")
+    void add_shouldSpillToDeadLetterQueueWhenFull() {
+        // given
+        ReflectionTestUtils.setField(logBufferService, "fullPolicy", BufferFullPolicy.SPILL);
+        startWithoutWriters();
+
+        // when
+        for (int i = 1; i <= 5; i++) {
+            logBufferService.add(log("log-" + i));
+        }
+
+        // then
+        assertThat(meterRegistry.get("worker.buffer.size").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("worker.dlq.size").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("worker.buffer.spilled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("writer 스레드가 batchSize 만큼 모인 로그를 적재하고 ACK 해야 한다")
+    void add_shouldBeFlushedByWriterThread() throws Exception {
+        // given
+        ReflectionTestUtils.setField(logBufferService, "fullPolicy", BufferFullPolicy.BLOCK);
+        ReflectionTestUtils.setField(logBufferService, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(logBufferService, "writerCount", 1);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        logBufferService.init();
+
+        // when
+        for (int i = 1; i <= 4; i++) {
+            logBufferService.add(log("log-" + i), "log-stream", RecordId.of(i + "-0"));
+        }
+
+        // then
+        verify(logJdbcRepository, timeout(5_000)).saveAll(anyList());
+        verify(streamOperations, timeout(5_000)).acknowledge(eq("log-stream"), eq("log-group"), any(RecordId[].class));
+        logBufferService.stop();
+    }
+
+    @Test
+    @DisplayName("종료 drain은 batchSize에 못 미친 로그까지 적재하고 ACK한 뒤 처리 수를 보고해야 한다")
+    void drain_shouldFlushRemainingLogsAndReport() throws Exception {
+        // given - flush 주기가 길어서 writer가 스스로는 적재하지 않는 상태
+        ReflectionTestUtils.setField(logBufferService, "fullPolicy", BufferFullPolicy.BLOCK);
+        ReflectionTestUtils.setField(logBufferService, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(logBufferService, "writerCount", 1);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        logBufferService.init();
+        logBufferService.add(log("log-1"), "log-stream", RecordId.of("1-0"));
+        logBufferService.add(log("log-2"), "log-stream", RecordId.of("2-0"));
+
+        // when
+        LogBufferService.DrainResult result = logBufferService.drain(Duration.ofSeconds(5));
+
+        // then
+        assertThat(result.drained()).isEqualTo(2);
+        assertThat(result.pending()).isZero();
+        assertThat(savedBodies()).containsExactly("log-1", "log-2");
+        verify(streamOperations).acknowledge("log-stream", "log-group", RecordId.of("1-0"), RecordId.of("2-0"));
+    }
+
+    @Test
+    @DisplayName("재시도 큐가 넘치면 넘친 로그를 영구 DLQ에 보관한 뒤 원본 Stream 레코드를 ACK 해야 한다")
+    void drainAndSave_shouldPersistOverflowToDurableDlq() {
+        // given
+        ReflectionTestUtils.setField(logBufferService, "retryQueueSize", 1);
+        startWithoutWriters();
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        doThrow(new DataAccessResourceFailureException("db down")).when(logJdbcRepository).saveAll(anyList());
+        logBufferService.add(log("log-1"), "log-stream", RecordId.of("1-0"));
+        logBufferService.add(log("log-2"), "log-stream", RecordId.of("2-0"));
+
+        // when
+        logBufferService.drainAndSave(new LogBufferService.LogWrapper[4]);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LogBufferService.LogWrapper>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deadLetterStore).append(captor.capture(), eq("db down"));
+        assertThat(captor.getValue()).extracting(LogBufferService.LogWrapper::recordId).containsExactly(RecordId.of("2-0"));
+        verify(streamOperations).acknowledge("log-stream", "log-group", RecordId.of("2-0"));
+        assertThat(meterRegistry.get("worker.dlq.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("영구 DLQ 보관마저 실패하면 원본 Stream 레코드를 ACK하지 않아야 한다")
+    void retryDeadLetterQueue_shouldNotAckWhenDurableDlqFails() {
+        // given
+        ReflectionTestUtils.setField(logBufferService, "maxRetryCount", 1);
+        startWithoutWriters();
+        doThrow(new DataAccessResourceFailureException("db down")).when(logJdbcRepository).saveAll(anyList());
+        doThrow(new RedisConnectionFailureException("redis down")).when(deadLetterStore).append(anyList(), anyString());
+        logBufferService.add(log("log-1"), "log-stream", RecordId.of("1-0"));
+        logBufferService.drainAndSave(new LogBufferService.LogWrapper[4]);
+
+        // when: 재시도 1회에 최종 실패
+        logBufferService.retryDeadLetterQueue();
+
+        // then
+        verify(deadLetterStore).append(anyList(), eq("db down"));
+        verify(redisTemplate, never()).opsForStream();
+    }
+
+    // writer 스레드를 바로 멈춰서 add가 버퍼를 비우지 못하게 함
+    @Test
+    @DisplayName("영구 DLQ가 가득 차면 원본 Stream 레코드를 ACK하지 않고 PEL에 남겨야 한다")
+    void drainAndSave_shouldNotAckWhenDurableDlqIsFull() {
+        // given - 실제 DeadLetterStore (길이가 이미 max-length)
+        LogStreamShards logStreamShards = new LogStreamShards();
+        ReflectionTestUtils.setField(logStreamShards, "baseKey", "log-stream");
+        ReflectionTestUtils.setField(logStreamShards, "shardCount", 1);
+        logStreamShards.init();
+        DeadLetterStore fullStore = new DeadLetterStore(redisTemplate, logStreamShards,
+                new LogRecordCodec(null), logJdbcRepository, meterRegistry);
+        ReflectionTestUtils.setField(fullStore, "maxLength", 10L);
+        fullStore.init();
+        logBufferService = newService(fullStore);
+        ReflectionTestUtils.setField(logBufferService, "retryQueueSize", 1);
+        startWithoutWriters();
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.size("log-stream:dlq")).thenReturn(10L);
+        doThrow(new DataAccessResourceFailureException("db down")).when(logJdbcRepository).saveAll(anyList());
+        logBufferService.add(log("log-1"), "log-stream", RecordId.of("1-0"));
+        logBufferService.add(log("log-2"), "log-stream", RecordId.of("2-0"));
+
+        // when: 재시도 큐(1칸)를 넘친 로그는 영구 DLQ로 가야 하지만 가득 참
+        logBufferService.drainAndSave(new LogBufferService.LogWrapper[4]);
+
+        // then
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+        verify(streamOperations, never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+        assertThat(meterRegistry.get("worker.dlq.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB 적재가 연속으로 실패하면 흐름 제어가 CRITICAL이 되어 읽기 크레딧 발급을 멈춰야 한다")
+    void drainAndSave_shouldStopCreditsAfterRepeatedFailures() {
+        // given - 실제 BackpressureManager
+        BackpressureManager realBackpressure = new BackpressureManager(meterRegistry);
+        ReflectionTestUtils.setField(realBackpressure, "degradedLatencyMs", 500L);
+        ReflectionTestUtils.setField(realBackpressure, "criticalLatencyMs", 2000L);
+        ReflectionTestUtils.setField(realBackpressure, "degradedOccupancy", 0.5);
+        ReflectionTestUtils.setField(realBackpressure, "criticalOccupancy", 0.9);
+        ReflectionTestUtils.setField(realBackpressure, "latencyWindowMs", 10000L);
+        ReflectionTestUtils.setField(realBackpressure, "failureThreshold", 3);
+        realBackpressure.init();
+        logBufferService = newService(deadLetterStore, realBackpressure);
+        startWithoutWriters();
+        doThrow(new DataAccessResourceFailureException("db down")).when(logJdbcRepository).saveAll(anyList());
+        assertThat(realBackpressure.tryAcquireCredits(1)).isEqualTo(1);
+        realBackpressure.releaseCredits(1);
+
+        // when
+        for (int i = 1; i <= 3; i++) {
+            logBufferService.add(log("log-" + i));
+            logBufferService.drainAndSave(new LogBufferService.LogWrapper[4]);
+        }
+
+        // then
+        assertThat(realBackpressure.getState()).isEqualTo(BackpressureState.CRITICAL);
+        assertThat(realBackpressure.tryAcquireCredits(1)).isZero();
+    }
+
+    private void startWithoutWriters() {
+        logBufferService.init();
+        try {
+            logBufferService.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> savedBodies() {
+        ArgumentCaptor<List<Log>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logJdbcRepository).saveAll(captor.capture());
+        return captor.getValue().stream().map(Log::getBody).toList();
+    }
+
+    private Log log(String body) {
+        return Log.builder().projectId("project-1").body(body).build();
+    }
+}
@@ -0,0 +1,130 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.repository.LogPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LogPartitionRepository.class)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:postgresql://localhost:5432/logdb",
+    "spring.datasource.username=postgres",
+    "spring.datasource.password=postgres",
+    "spring.datasource.driver-class-name=org.postgresql.Driver"
+})
+class LogPartitionManagerTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-03-10T15:30:00Z");
+
+    @Autowired
+    private LogPartitionRepository logPartitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LogPartitionManager logPartitionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS log CASCADE");
+
+        logPartitionManager = new LogPartitionManager(logPartitionRepository, null);
+        ReflectionTestUtils.setField(logPartitionManager, "interval", PartitionInterval.DAY);
+        ReflectionTestUtils.setField(logPartitionManager, "premake", 2);
+        ReflectionTestUtils.setField(logPartitionManager, "retentionDays", 30);
+        ReflectionTestUtils.setField(logPartitionManager, "dropExpired", true);
+    }
+
+    @Test
+    @DisplayName("파티션 테이블과 default, 오늘부터 premake 일 뒤까지의 파티션을 만들어야 한다")
+    void maintain_shouldCreateTableAndUpcomingPartitions() {
+        // when
+        maintain(NOW);
+
+        // then
+        assertThat(logPartitionRepository.isPartitioned()).isTrue();
+        assertThat(logPartitionRepository.findPartitionNames())
+                .containsExactly("log_default", "log_p20260310", "log_p20260311", "log_p20260312");
+
+        // 범위 안은 일별 파티션, 범위 밖은 default로 들어감
+        insertLog(NOW);
+        insertLog(NOW.plusDays(10));
+        assertThat(partitionOf(NOW)).isEqualTo("log_p20260310");
+        assertThat(partitionOf(NOW.plusDays(10))).isEqualTo("log_default");
+    }
+
+    @Test
+    @DisplayName("default에 이미 들어간 행이 있는 구간도 행을 옮기면서 파티션을 만들어야 한다")
+    void maintain_shouldMoveRowsOutOfDefault() {
+        // given: 미리 만들어 두지 못한 구간에 로그가 들어온 상태
+        maintain(NOW);
+        insertLog(NOW.plusDays(3));
+        assertThat(partitionOf(NOW.plusDays(3))).isEqualTo("log_default");
+
+        // when: 다음 날 실행
+        maintain(NOW.plusDays(1));
+
+        // then
+        assertThat(partitionOf(NOW.plusDays(3))).isEqualTo("log_p20260313");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM log_default", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 파티션은 삭제하고, default에 남은 오래된 행도 정리해야 한다")
+    void maintain_shouldDropExpiredPartitions() {
+        // given
+        maintain(NOW.minusDays(40));
+        insertLog(NOW.minusDays(40));
+        insertLog(NOW.minusDays(45));
+
+        // when
+        maintain(NOW);
+
+        // then
+        assertThat(logPartitionRepository.findPartitionNames())
+                .doesNotContain("log_p20260129", "log_p20260130", "log_p20260131")
+                .contains("log_p20260310");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM log", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('log_p20260129') IS NULL", Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("이미 있는 테이블이 파티션 테이블이 아니면 손대지 않아야 한다")
+    void maintain_shouldSkipNonPartitionedTable() {
+        jdbcTemplate.execute("CREATE TABLE log (log_id UUID PRIMARY KEY, occurred_at TIMESTAMPTZ NOT NULL)");
+
+        maintain(NOW);
+
+        assertThat(logPartitionRepository.isPartitioned()).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('log_default') IS NULL", Boolean.class)).isTrue();
+    }
+
+    // 테스트 트랜잭션 안에서 바로 실행 (TransactionTemplate 없이)
+    private void maintain(OffsetDateTime now) {
+        logPartitionManager.maintain(now);
+    }
+
+    private void insertLog(OffsetDateTime occurredAt) {
+        jdbcTemplate.update("INSERT INTO log (log_id, project_id, session_id, severity, body, occurred_at, ingested_at, attributes) " +
+                "VALUES (?, 'p', 's', 'INFO', 'b', ?, now(), '{}'::jsonb)", UUID.randomUUID(), occurredAt);
+    }
+
+    private String partitionOf(OffsetDateTime occurredAt) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM log WHERE occurred_at = ?",
+                String.class, occurredAt);
+    }
+}
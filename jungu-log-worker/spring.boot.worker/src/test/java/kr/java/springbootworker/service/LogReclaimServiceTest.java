@@ -0,0 +1,214 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.config.WorkerIdentity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.java.springbootworker.service.LogReclaimService.ClaimPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogReclaimServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOps;
+
+    @Mock
+    private LogStreamListener logStreamListener;
+
+    @Mock
+    private LogStreamShards logStreamShards;
+
+    @Mock
+    private WorkerIdentity workerIdentity;
+
+    @Mock
+    private ConsumerHeartbeat consumerHeartbeat;
+
+    @Mock
+    private BackpressureManager backpressureManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LogReclaimService logReclaimService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        logReclaimService = spy(new LogReclaimService(redisTemplate, logStreamListener, logStreamShards,
+                workerIdentity, consumerHeartbeat, backpressureManager, meterRegistry));
+        ReflectionTestUtils.setField(logReclaimService, "consumerGroup", "log-group");
+        ReflectionTestUtils.setField(logReclaimService, "minIdleMs", 60000L);
+        ReflectionTestUtils.setField(logReclaimService, "deadConsumerMinIdleMs", 5000L);
+        ReflectionTestUtils.setField(logReclaimService, "batchSize", 2);
+        ReflectionTestUtils.setField(logReclaimService, "parallelism", 2);
+        ReflectionTestUtils.setField(logReclaimService, "creditWaitMs", 100L);
+        logReclaimService.init();
+        lenient().when(redisTemplate.opsForStream()).thenReturn(streamOps);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        logReclaimService.stop();
+    }
+
+    @Test
+    @DisplayName("XAUTOCLAIM 커서를 끝까지 따라가며 페이지마다 재처리하고 크레딧을 모두 반납해야 한다")
+    void reclaimPendingMessages_shouldFollowCursorUntilEnd() throws Exception {
+        // given - 3페이지 (두 번째 페이지는 본문이 지워진 항목만 있음)
+        when(backpressureManager.acquireCredits(eq(2), any(Duration.class))).thenReturn(2);
+        doReturn(new ClaimPage(List.of(record("1-0"), record("2-0")), "5-0", 0))
+                .when(logReclaimService).autoClaim("log-stream", "0-0", 2);
+        doReturn(new ClaimPage(List.of(), "9-0", 2))
+                .when(logReclaimService).autoClaim("log-stream", "5-0", 2);
+        doReturn(new ClaimPage(List.of(record("10-0")), "0-0", 0))
+                .when(logReclaimService).autoClaim("log-stream", "9-0", 2);
+
+        // when
+        int claimed = logReclaimService.reclaimPendingMessages("log-stream");
+
+        // then
+        assertThat(claimed).isEqualTo(3);
+        verify(logStreamListener).onMessages(List.of(record("1-0"), record("2-0")));
+        verify(logStreamListener).onMessages(List.of(record("10-0")));
+        verify(backpressureManager, times(3)).releaseCredits(2);
+        assertThat(meterRegistry.counter("worker.reclaim.claimed").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("worker.reclaim.deleted").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("크레딧을 받지 못하면 남은 PEL은 다음 실행으로 미뤄야 한다")
+    void reclaimPendingMessages_shouldStopWithoutCredits() throws Exception {
+        // given
+        when(backpressureManager.acquireCredits(eq(2), any(Duration.class))).thenReturn(2, 0);
+        doReturn(new ClaimPage(List.of(record("1-0"), record("2-0")), "5-0", 0))
+                .when(logReclaimService).autoClaim("log-stream", "0-0", 2);
+
+        // when
+        int claimed = logReclaimService.reclaimPendingMessages("log-stream");
+
+        // then
+        assertThat(claimed).isEqualTo(2);
+        verify(logReclaimService, never()).autoClaim(eq("log-stream"), eq("5-0"), anyInt());
+        verify(backpressureManager, times(1)).releaseCredits(2);
+    }
+
+    @Test
+    @DisplayName("XAUTOCLAIM 응답에서 본문이 지워진 항목은 Redis 6.2의 nil 본문과 Redis 7의 삭제 ID 목록 모두 세야 한다")
+    void toClaimPage_shouldCountDeletedEntries() {
+        // given
+        List<Object> entry = List.of(bytes("1-0"), List.of(bytes("body"), bytes("1-0")));
+        List<Object> redis62 = Arrays.asList(bytes("5-0"), Arrays.asList(entry, Arrays.asList(bytes("2-0"), null)));
+        List<Object> redis7 = List.of(bytes("0-0"), List.of(entry), List.of(bytes("3-0"), bytes("4-0")));
+
+        // when
+        ClaimPage fromRedis62 = LogReclaimService.toClaimPage("log-stream", redis62);
+        ClaimPage fromRedis7 = LogReclaimService.toClaimPage("log-stream", redis7);
+
+        // then
+        assertThat(fromRedis62).isEqualTo(new ClaimPage(List.of(record("1-0")), "5-0", 1));
+        assertThat(fromRedis7).isEqualTo(new ClaimPage(List.of(record("1-0")), "0-0", 2));
+    }
+
+    @Test
+    @DisplayName("heartbeat가 끊기고 PEL이 빈 오래된 Consumer만 그룹에서 제거해야 한다")
+    void removeDeadConsumers_shouldRemoveOnlyIdleDeadConsumers() {
+        // given
+        StreamInfo.XInfoConsumers consumers = StreamInfo.XInfoConsumers.fromList("log-group", List.of(
+                consumer("dead", 0L, 120000L),
+                consumer("dead-with-pending", 3L, 120000L),
+                consumer("recently-idle", 0L, 1000L),
+                consumer("alive", 0L, 120000L)));
+        when(streamOps.consumers("log-stream", "log-group")).thenReturn(consumers);
+        lenient().when(consumerHeartbeat.isAlive(anyString())).thenReturn(false);
+        when(consumerHeartbeat.isAlive("alive")).thenReturn(true);
+        doReturn(3).when(logReclaimService).claimFromDeadConsumer("log-stream", "dead-with-pending");
+
+        // when
+        logReclaimService.removeDeadConsumers("log-stream");
+
+        // then - PEL이 남은 Consumer는 제거하지 않고 PEL부터 가져옴
+        verify(streamOps, times(1)).deleteConsumer(anyString(), any(Consumer.class));
+        verify(streamOps).deleteConsumer("log-stream", Consumer.from("log-group", "dead"));
+        verify(logReclaimService, times(1)).claimFromDeadConsumer(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("heartbeat가 끊긴 Consumer의 PEL은 min-idle보다 짧은 기준으로 XCLAIM해 재처리해야 한다")
+    void claimFromDeadConsumer_shouldClaimWithShortIdle() throws Exception {
+        // given - 첫 페이지는 가득, 두 번째 페이지에서 PEL 끝
+        when(workerIdentity.getConsumerName()).thenReturn("me");
+        when(backpressureManager.acquireCredits(eq(2), any(Duration.class))).thenReturn(2);
+        Consumer dead = Consumer.from("log-group", "dead");
+        when(streamOps.pending(eq("log-stream"), eq(dead), any(), eq(2L)))
+                .thenReturn(pending("dead", "1-0", "2-0"), pending("dead", "3-0"));
+        doReturn(List.of(record("1-0"), record("2-0"))).when(streamOps).claim("log-stream", "log-group", "me",
+                Duration.ofMillis(5000), RecordId.of("1-0"), RecordId.of("2-0"));
+        doReturn(List.of(record("3-0"))).when(streamOps).claim("log-stream", "log-group", "me",
+                Duration.ofMillis(5000), RecordId.of("3-0"));
+
+        // when
+        int claimed = logReclaimService.claimFromDeadConsumer("log-stream", "dead");
+
+        // then
+        assertThat(claimed).isEqualTo(3);
+        verify(logStreamListener).onMessages(List.of(record("1-0"), record("2-0")));
+        verify(logStreamListener).onMessages(List.of(record("3-0")));
+        verify(backpressureManager, times(2)).releaseCredits(2);
+    }
+
+    private static MapRecord<String, String, String> record(String id) {
+        return StreamRecords.newRecord().in("log-stream").withId(id).ofMap(Map.of("body", id));
+    }
+
+    private static PendingMessages pending(String consumer, String... ids) {
+        List<PendingMessage> messages = Arrays.stream(ids)
+                .map(id -> new PendingMessage(RecordId.of(id), Consumer.from("log-group", consumer), Duration.ofMillis(10000), 1))
+                .toList();
+        return new PendingMessages("log-group", messages);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Object> consumer(String name, long pending, long idleMs) {
+        return List.of("name", name, "pending", pending, "idle", idleMs);
+    }
+}
@@ -0,0 +1,152 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.domain.entity.logs.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogRecordCodecTest {
+
+    @Mock
+    private LogResourceResolver logResourceResolver;
+
+    private LogRecordCodec logRecordCodec;
+
+    @BeforeEach
+    void setUp() {
+        logRecordCodec = new LogRecordCodec(logResourceResolver);
+    }
+
+    @Test
+    @DisplayName("log-api가 보낸 평탄화된 필드를 Log로 디코딩해야 한다")
+    void decode_shouldReadFlatFields() throws Exception {
+        // given (필드 이름은 log-api와의 계약이므로 문자열로 고정)
+        Map<String, String> record = Map.of(
+                "projectId", "project-1",
+                "sessionId", "session-1",
+                "severity", "ERROR",
+                "body", "boom",
+                "occurredAt", "2026-01-01T00:00:00Z",
+                "ingestedAt", "2026-01-01T00:00:01Z",
+                "resourceRef", "ref-1");
+        when(logResourceResolver.resolve("ref-1")).thenReturn("ref-1");
+
+        // when
+        Log log = logRecordCodec.decode(record);
+
+        // then
+        assertThat(log.getLogId()).isNotNull();
+        assertThat(log.getProjectId()).isEqualTo("project-1");
+        assertThat(log.getSessionId()).isEqualTo("session-1");
+        assertThat(log.getSeverity()).isEqualTo("ERROR");
+        assertThat(log.getBody()).isEqualTo("boom");
+        assertThat(log.getOccurredAt()).isEqualTo(OffsetDateTime.parse("2026-01-01T00:00:00Z"));
+        assertThat(log.getIngestedAt()).isEqualTo(OffsetDateTime.parse("2026-01-01T00:00:01Z"));
+        assertThat(log.getResourceRef()).isEqualTo("ref-1");
+        assertThat(log.getAttributes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("생략된 선택 필드는 기본값으로 채워야 한다")
+    void decode_shouldApplyDefaults() throws Exception {
+        Log log = logRecordCodec.decode(Map.of("projectId", "project-1", "body", "hello"));
+
+        assertThat(log.getSessionId()).isEqualTo("unknown-session");
+        assertThat(log.getSeverity()).isEqualTo("INFO");
+        assertThat(log.getUserId()).isNull();
+        assertThat(log.getResourceRef()).isNull();
+    }
+
+    @Test
+    @DisplayName("logId가 없는 레코드는 RecordId로 같은 logId와 occurredAt을 만들어야 한다")
+    void decode_shouldDeriveIdentityFromRecordId() {
+        Map<String, String> record = Map.of("projectId", "project-1", "body", "hello");
+        RecordId recordId = RecordId.of("1767225600000-0");
+
+        Log first = logRecordCodec.decode(record, "log-stream", recordId);
+        Log redelivered = logRecordCodec.decode(record, "log-stream", recordId);
+
+        assertThat(first.getLogId()).isEqualTo(redelivered.getLogId());
+        assertThat(first.getOccurredAt()).isEqualTo(OffsetDateTime.parse("2026-01-01T00:00:00Z"));
+        assertThat(redelivered.getOccurredAt()).isEqualTo(first.getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("클라이언트가 보낸 logId는 RecordId보다 우선해야 한다")
+    void decode_shouldPreferClientLogId() {
+        UUID clientLogId = UUID.randomUUID();
+
+        Log log = logRecordCodec.decode(
+                Map.of("logId", clientLogId.toString(), "projectId", "project-1", "body", "hello"),
+                "log-stream", RecordId.of("1767225600000-0"));
+
+        assertThat(log.getLogId()).isEqualTo(clientLogId);
+    }
+
+    @Test
+    @DisplayName("log-api가 부여한 logId가 있으면 재적재로 RecordId가 바뀌어도 같은 logId와 occurredAt이어야 한다")
+    void decode_shouldKeepIdentityAcrossRespool() {
+        UUID logId = UuidV7.generate();
+        Map<String, String> record = Map.of("logId", logId.toString(), "projectId", "project-1", "body", "hello");
+
+        Log original = logRecordCodec.decode(record, "log-stream:0", RecordId.of("1767225600000-0"));
+        Log respooled = logRecordCodec.decode(record, "log-stream:1", RecordId.of("1767225900000-3"));
+
+        assertThat(respooled.getLogId()).isEqualTo(original.getLogId());
+        assertThat(respooled.getOccurredAt()).isEqualTo(original.getOccurredAt());
+        assertThat(original.getOccurredAt().toInstant().toEpochMilli()).isEqualTo(UuidV7.timestampMillis(logId));
+    }
+
+    @Test
+    @DisplayName("참조 없이 resource 원본이 온 레코드는 사전에 등록하고 참조를 저장해야 한다")
+    void decode_shouldRegisterInlineResource() throws Exception {
+        when(logResourceResolver.register("{\"os\":\"android\"}")).thenReturn("ref-2");
+
+        Log log = logRecordCodec.decode(Map.of(
+                "projectId", "project-1", "body", "hello", "resource", "{\"os\":\"android\"}"));
+
+        assertThat(log.getResourceRef()).isEqualTo("ref-2");
+    }
+
+    @Test
+    @DisplayName("attributes는 파싱하지 않고 원문 그대로 담아야 하며, 필요할 때만 Map으로 읽어야 한다")
+    void decode_shouldKeepRawAttributes() {
+        String attributes = "{\"fps\": 60, \"scene\": \"lobby {1}\", \"tags\": [\"a\", \"}\"]}";
+
+        Log log = logRecordCodec.decode(Map.of("projectId", "project-1", "body", "hello", "attributes", attributes));
+
+        assertThat(log.getAttributesJson()).isSameAs(attributes);
+        assertThat(log.getAttributes()).containsEntry("fps", 60).containsEntry("scene", "lobby {1}");
+    }
+
+    @Test
+    @DisplayName("JSON 객체 구조가 아닌 attributes는 거부해야 한다")
+    void decode_shouldRejectMalformedAttributes() {
+        for (String attributes : new String[]{"[1, 2]", "{\"a\": 1", "{\"a\": \"}\"", "{} {}", "\"text\""}) {
+            assertThatThrownBy(() -> logRecordCodec.decode(
+                    Map.of("projectId", "project-1", "body", "hello", "attributes", attributes)))
+                    .as(attributes)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("필수 필드가 없으면 예외가 발생해야 한다")
+    void decode_shouldRejectMissingRequiredFields() {
+        assertThatThrownBy(() -> logRecordCodec.decode(Map.of("projectId", "project-1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
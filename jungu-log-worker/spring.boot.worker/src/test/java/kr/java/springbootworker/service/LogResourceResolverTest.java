@@ -0,0 +1,114 @@
+package kr.java.springbootworker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.java.springbootworker.config.LogStreamShards;
+import kr.java.springbootworker.repository.LogResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogResourceResolverTest {
+
+    @Mock
+    private LogResourceRepository logResourceRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private LogResourceResolver logResourceResolver;
+
+    @BeforeEach
+    void setUp() {
+        LogStreamShards logStreamShards = new LogStreamShards();
+        ReflectionTestUtils.setField(logStreamShards, "baseKey", "log-stream");
+        ReflectionTestUtils.setField(logStreamShards, "shardCount", 1);
+        logStreamShards.init();
+
+        logResourceResolver = new LogResourceResolver(
+                logResourceRepository, redisTemplate, logStreamShards, new ObjectMapper());
+        ReflectionTestUtils.setField(logResourceResolver, "cacheSize", 100);
+        logResourceResolver.init();
+    }
+
+    @Test
+    @DisplayName("DB에 없는 참조는 Redis 사전에서 찾아 저장하고 이후에는 캐시로 해석해야 한다")
+    void resolve_shouldLoadFromRedisOnce() {
+        // given
+        when(logResourceRepository.exists("ref-1")).thenReturn(false);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.get("log-stream:resources", "ref-1")).thenReturn("{\"os\":\"android\"}");
+
+        // when
+        logResourceResolver.resolve("ref-1");
+        String resolved = logResourceResolver.resolve("ref-1");
+
+        // then
+        assertThat(resolved).isEqualTo("ref-1");
+        verify(logResourceRepository, times(1)).insertIfAbsent("ref-1", "{\"os\":\"android\"}");
+        verify(logResourceRepository, times(1)).exists("ref-1");
+    }
+
+    @Test
+    @DisplayName("이미 DB에 있는 참조는 Redis를 조회하지 않아야 한다")
+    void resolve_shouldSkipRedisWhenStored() {
+        when(logResourceRepository.exists("ref-1")).thenReturn(true);
+
+        logResourceResolver.resolve("ref-1");
+
+        verify(redisTemplate, never()).opsForHash();
+        verify(logResourceRepository, never()).insertIfAbsent(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("정의를 찾지 못한 참조는 저장하지 않고 예외로 재시도 대상이 되어야 한다")
+    void resolve_shouldFailWhenDefinitionMissing() {
+        // given
+        when(logResourceRepository.exists("ref-1")).thenReturn(false);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.get("log-stream:resources", "ref-1")).thenReturn(null);
+
+        // when & then
+        assertThatThrownBy(() -> logResourceResolver.resolve("ref-1"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(logResourceRepository, never()).insertIfAbsent(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("resource 원본은 키 순서와 무관하게 log-api와 같은 참조로 등록해야 한다")
+    void register_shouldUseCanonicalJson() {
+        // given
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("os", "android");
+        resource.put("device", "SM-S918N");
+
+        // when
+        String ref = logResourceResolver.register(resource);
+
+        // then
+        assertThat(ref).isEqualTo(logResourceResolver.register("{\"device\":\"SM-S918N\",\"os\":\"android\"}"));
+        verify(logResourceRepository, times(1))
+                .insertIfAbsent(ref, "{\"device\":\"SM-S918N\",\"os\":\"android\"}");
+        assertThat(logResourceResolver.register(Map.of())).isNull();
+    }
+}
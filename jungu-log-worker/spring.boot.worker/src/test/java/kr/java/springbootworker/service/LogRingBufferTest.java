@@ -0,0 +1,89 @@
+package kr.java.springbootworker.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRingBufferTest {
+
+    @Test
+    @DisplayName("용량은 2의 거듭제곱으로 올리고 가득 차면 offer가 실패해야 한다")
+    void offer_shouldRejectWhenFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("넣은 순서대로 재사용 배열에 꺼내야 한다")
+    void drainTo_shouldKeepFifoOrder() {
+        // given
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        Integer[] target = new Integer[3];
+
+        // when
+        int first = buffer.drainTo(target, 3);
+
+        // then
+        assertThat(first).isEqualTo(3);
+        assertThat(target).containsExactly(0, 1, 2);
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.drainTo(target, 3)).isEqualTo(2);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 넣어도 유실이나 중복 없이 모두 꺼내야 한다")
+    void offer_shouldBeSafeForConcurrentProducers() throws Exception {
+        // given
+        int producers = 4;
+        int perProducer = 50_000;
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        // when
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> received = new HashSet<>();
+        Integer[] target = new Integer[256];
+        while (received.size() < producers * perProducer) {
+            int drained = buffer.drainTo(target, target.length);
+            for (int i = 0; i < drained; i++) {
+                assertThat(received.add(target[i])).isTrue();
+            }
+        }
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(buffer.isEmpty()).isTrue();
+        executor.shutdown();
+    }
+}
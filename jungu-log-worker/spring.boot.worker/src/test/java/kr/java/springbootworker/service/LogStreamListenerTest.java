@@ -0,0 +1,143 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.domain.entity.logs.Log;
+import kr.java.springbootworker.service.LogBufferService.LogWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogStreamListenerTest {
+
+    @Mock
+    private LogBufferService logBufferService;
+
+    @Mock
+    private LogRecordCodec logRecordCodec;
+
+    @Mock
+    private DeadLetterStore deadLetterStore;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOps;
+
+    @InjectMocks
+    private LogStreamListener logStreamListener;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(logStreamListener, "consumerGroup", "log-group");
+        ReflectionTestUtils.setField(logStreamListener, "maxDeliveries", 3L);
+        lenient().when(redisTemplate.opsForStream()).thenReturn(streamOps);
+    }
+
+    @Test
+    @DisplayName("읽어온 묶음을 한 번에 디코딩해서 버퍼에 넘기고, 깨진 레코드만 건너뛰어야 한다")
+    void onMessages_shouldHandOverWholeBatch() throws Exception {
+        // given
+        MapRecord<String, String, String> first = record("1-0", Map.of("body", "a"));
+        MapRecord<String, String, String> broken = record("2-0", Map.of("body", "broken"));
+        MapRecord<String, String, String> third = record("3-0", Map.of("body", "c"));
+        Log firstLog = Log.builder().body("a").build();
+        Log thirdLog = Log.builder().body("c").build();
+        when(logRecordCodec.decode(first.getValue(), first.getStream(), first.getId())).thenReturn(firstLog);
+        when(logRecordCodec.decode(broken.getValue(), broken.getStream(), broken.getId())).thenThrow(new IllegalArgumentException("broken"));
+        when(logRecordCodec.decode(third.getValue(), third.getStream(), third.getId())).thenReturn(thirdLog);
+
+        // when
+        logStreamListener.onMessages(List.of(first, broken, third));
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LogWrapper>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logBufferService, times(1)).addAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(LogWrapper::log, LogWrapper::streamKey, LogWrapper::recordId)
+                .containsExactly(
+                        tuple(firstLog, "log-stream", RecordId.of("1-0")),
+                        tuple(thirdLog, "log-stream", RecordId.of("3-0")));
+    }
+
+    @Test
+    @DisplayName("형식 오류로 디코딩할 수 없는 레코드는 원본 그대로 DLQ에 보관한 뒤 ACK해야 한다")
+    void onMessages_shouldDeadLetterAndAckMalformedRecord() {
+        // given - projectId 없는 레코드
+        MapRecord<String, String, String> malformed = record("1-0", Map.of("body", "a"));
+        when(logRecordCodec.decode(malformed.getValue(), malformed.getStream(), malformed.getId()))
+                .thenThrow(new IllegalArgumentException("Missing required fields"));
+
+        // when
+        logStreamListener.onMessages(List.of(malformed));
+
+        // then
+        verify(deadLetterStore).appendRaw(eq(malformed), anyString());
+        verify(streamOps).acknowledge("log-stream", "log-group", RecordId.of("1-0"));
+        verify(streamOps, never()).pending(anyString(), anyString(), any(Range.class), any(Long.class));
+    }
+
+    @Test
+    @DisplayName("일시적인 실패는 전달 횟수가 한도 안이면 PEL에 남기고, 넘으면 DLQ로 보내야 한다")
+    void onMessages_shouldRetryTransientFailureUntilMaxDeliveries() {
+        // given - resource 정의를 찾지 못하는 레코드 두 개 (전달 3회 / 4회)
+        MapRecord<String, String, String> retrying = record("1-0", Map.of("resourceRef", "ref-1"));
+        MapRecord<String, String, String> exhausted = record("2-0", Map.of("resourceRef", "ref-1"));
+        when(logRecordCodec.decode(any(), eq("log-stream"), any(RecordId.class)))
+                .thenThrow(new IllegalStateException("Unknown resource ref: ref-1"));
+        when(streamOps.pending("log-stream", "log-group", Range.closed("1-0", "1-0"), 1L))
+                .thenReturn(pending("1-0", 3));
+        when(streamOps.pending("log-stream", "log-group", Range.closed("2-0", "2-0"), 1L))
+                .thenReturn(pending("2-0", 4));
+
+        // when
+        logStreamListener.onMessages(List.of(retrying, exhausted));
+
+        // then
+        verify(deadLetterStore, never()).appendRaw(eq(retrying), anyString());
+        verify(streamOps, never()).acknowledge("log-stream", "log-group", RecordId.of("1-0"));
+        verify(deadLetterStore).appendRaw(eq(exhausted), anyString());
+        verify(streamOps).acknowledge("log-stream", "log-group", RecordId.of("2-0"));
+    }
+
+    private MapRecord<String, String, String> record(String id, Map<String, String> fields) {
+        return StreamRecords.<String, String, String>mapBacked(fields).withStreamKey("log-stream").withId(RecordId.of(id));
+    }
+
+    private PendingMessages pending(String id, long deliveries) {
+        PendingMessage message = new PendingMessage(RecordId.of(id), Consumer.from("log-group", "worker-1"),
+                Duration.ofMinutes(1), deliveries);
+        return new PendingMessages("log-group", List.of(message));
+    }
+}
@@ -0,0 +1,136 @@
+package kr.java.springbootworker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.java.springbootworker.config.LogStreamShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogStreamTrimmerTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOps;
+
+    @Mock
+    private LogStreamShards logStreamShards;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LogStreamTrimmer logStreamTrimmer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(logStreamShards.keys()).thenReturn(List.of("log-stream"));
+        logStreamTrimmer = spy(new LogStreamTrimmer(redisTemplate, logStreamShards, meterRegistry));
+        ReflectionTestUtils.setField(logStreamTrimmer, "safetyMarginMs", 1000L);
+        ReflectionTestUtils.setField(logStreamTrimmer, "floorAgeWarnMs", 600000L);
+        logStreamTrimmer.init();
+        when(redisTemplate.opsForStream()).thenReturn(streamOps);
+    }
+
+    @Test
+    @DisplayName("모든 그룹 중 가장 앞선 미처리 ID에서 safety margin을 뺀 지점까지만 정리해야 한다")
+    void trim_shouldUseOldestUnackedIdAcrossGroupsMinusMargin() {
+        // given - log-group은 PEL이 남아 있고, audit-group은 전부 ACK했지만 더 뒤처져 있음
+        when(streamOps.groups("log-stream")).thenReturn(StreamInfo.XInfoGroups.fromList(List.of(
+                group("log-group", 2L, "50000-0"),
+                group("audit-group", 0L, "30000-5"))));
+        when(streamOps.pending("log-stream", "log-group")).thenReturn(
+                new PendingMessagesSummary("log-group", 2L, Range.closed("40000-1", "45000-0"), Map.of("worker-1", 2L)));
+        doReturn(10L).when(logStreamTrimmer).xtrimMinId("log-stream", "29000-0");
+
+        // when
+        long trimmed = logStreamTrimmer.trim("log-stream");
+
+        // then
+        assertThat(logStreamTrimmer.findTrimFloor("log-stream")).isEqualTo(RecordId.of("30000-5"));
+        assertThat(trimmed).isEqualTo(10L);
+        assertThat(meterRegistry.counter("worker.stream.trimmed").count()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("PEL이 남아 있으면 마지막 전달 ID가 아닌 PEL의 가장 작은 ID가 기준이어야 한다")
+    void findTrimFloor_shouldRespectPendingEntries() {
+        // given
+        when(streamOps.groups("log-stream")).thenReturn(StreamInfo.XInfoGroups.fromList(List.of(
+                group("log-group", 1L, "50000-0"))));
+        when(streamOps.pending("log-stream", "log-group")).thenReturn(
+                new PendingMessagesSummary("log-group", 1L, Range.closed("40000-1", "40000-1"), Map.of("worker-1", 1L)));
+
+        // when & then
+        assertThat(logStreamTrimmer.findTrimFloor("log-stream")).isEqualTo(RecordId.of("40000-1"));
+    }
+
+    @Test
+    @DisplayName("PEL에 묶인 기준선은 나이를 gauge로 노출하고, 마지막 전달 ID가 기준선이면 0이어야 한다")
+    void trim_shouldExposeFloorAgeOnlyForPendingFloor() {
+        // given - 40000ms(1970년) 레코드가 PEL에 남아 있음
+        when(streamOps.groups("log-stream")).thenReturn(StreamInfo.XInfoGroups.fromList(List.of(
+                group("log-group", 1L, "50000-0"))));
+        when(streamOps.pending("log-stream", "log-group")).thenReturn(
+                new PendingMessagesSummary("log-group", 1L, Range.closed("40000-1", "40000-1"), Map.of("worker-1", 1L)));
+        doReturn(0L).when(logStreamTrimmer).xtrimMinId("log-stream", "39000-0");
+
+        // when
+        logStreamTrimmer.trim("log-stream");
+
+        // then
+        double stuckAge = meterRegistry.get("worker.stream.trim.floor.age").tag("stream", "log-stream").gauge().value();
+        assertThat(stuckAge).isGreaterThan(System.currentTimeMillis() - 50000.0);
+
+        // given - PEL이 비워짐
+        when(streamOps.groups("log-stream")).thenReturn(StreamInfo.XInfoGroups.fromList(List.of(
+                group("log-group", 0L, "50000-0"))));
+        doReturn(0L).when(logStreamTrimmer).xtrimMinId("log-stream", "49000-0");
+
+        // when
+        logStreamTrimmer.trim("log-stream");
+
+        // then
+        assertThat(meterRegistry.get("worker.stream.trim.floor.age").tag("stream", "log-stream").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Consumer Group이 없는 Stream은 정리하지 않아야 한다")
+    void trim_shouldSkipStreamWithoutGroups() {
+        // given
+        when(streamOps.groups("log-stream")).thenReturn(StreamInfo.XInfoGroups.fromList(List.of()));
+
+        // when
+        long trimmed = logStreamTrimmer.trim("log-stream");
+
+        // then
+        assertThat(trimmed).isZero();
+        verify(logStreamTrimmer, never()).xtrimMinId(anyString(), anyString());
+    }
+
+    private static List<Object> group(String name, long pending, String lastDeliveredId) {
+        return List.of("name", name, "consumers", 1L, "pending", pending, "last-delivered-id", lastDeliveredId);
+    }
+}
@@ -0,0 +1,96 @@
+package kr.java.springbootworker.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("버전 7 / RFC 9562 variant와 현재 시각을 담아야 한다")
+    void generate_shouldEncodeVersionVariantAndTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("같은 ms 안에서도, 시계가 뒤로 가도 단조 증가해야 한다")
+    void nextTimeAndCounter_shouldBeMonotonic() {
+        AtomicLong state = new AtomicLong();
+
+        long first = UuidV7.nextTimeAndCounter(state, 1_000);
+        long second = UuidV7.nextTimeAndCounter(state, 1_000);
+        long afterClockSkew = UuidV7.nextTimeAndCounter(state, 999);
+        long nextMillis = UuidV7.nextTimeAndCounter(state, 1_001);
+
+        assertThat(first).isEqualTo(1_000L << 12);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(afterClockSkew).isEqualTo(second + 1);
+        assertThat(nextMillis).isEqualTo(1_001L << 12);
+    }
+
+    @Test
+    @DisplayName("같은 Stream 레코드는 항상 같은 UUIDv7이 되고, 레코드가 다르면 달라야 한다")
+    void fromStreamRecord_shouldBeDeterministic() {
+        RecordId recordId = RecordId.of("1767225600000-3");
+
+        UUID uuid = UuidV7.fromStreamRecord("log-stream:0", recordId);
+
+        assertThat(uuid).isEqualTo(UuidV7.fromStreamRecord("log-stream:0", RecordId.of("1767225600000-3")));
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isEqualTo(1767225600000L);
+        assertThat(uuid).isNotEqualTo(UuidV7.fromStreamRecord("log-stream:1", recordId));
+        assertThat(uuid).isNotEqualTo(UuidV7.fromStreamRecord("log-stream:0", RecordId.of("1767225600000-4")));
+        assertThat(uuid).isNotEqualTo(UuidV7.fromStreamRecord("log-stream:0", RecordId.of("1767225600000-4099")));
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 생성해도 중복 없이 스레드별로 정렬된 순서여야 한다")
+    void generate_shouldBeUniqueAndOrderedAcrossThreads() throws Exception {
+        int threads = 4;
+        int perThread = 50_000;
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    UUID previous = UuidV7.generate();
+                    boolean ordered = true;
+                    for (int i = 0; i < perThread; i++) {
+                        UUID current = UuidV7.generate();
+                        // 상위 64비트(시각 + 카운터)가 항상 증가
+                        ordered &= Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0;
+                        all.add(current);
+                        previous = current;
+                    }
+                    return ordered;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(all).hasSize(threads * perThread);
+    }
+}
@@ -0,0 +1,56 @@
+package kr.java.springbootworker.service;
+
+import kr.java.springbootworker.service.LogBufferService.DrainResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkerLifecycleTest {
+
+    @Mock
+    private LogStreamConsumer logStreamConsumer;
+
+    @Mock
+    private LogReclaimService logReclaimService;
+
+    @Mock
+    private LogBufferService logBufferService;
+
+    @InjectMocks
+    private WorkerLifecycle workerLifecycle;
+
+    @Test
+    @DisplayName("종료 시 읽기와 회수를 먼저 멈춘 뒤 버퍼를 비워야 한다")
+    void stop_shouldStopReadingBeforeDrain() throws Exception {
+        // given
+        when(logBufferService.drain(any(Duration.class))).thenReturn(new DrainResult(10, 0, 5));
+        workerLifecycle.start();
+
+        // when
+        workerLifecycle.stop();
+        workerLifecycle.stop();
+
+        // then
+        InOrder order = inOrder(logStreamConsumer, logReclaimService, logBufferService);
+        order.verify(logStreamConsumer).start();
+        order.verify(logStreamConsumer).stop();
+        order.verify(logReclaimService).stop();
+        order.verify(logBufferService).drain(any(Duration.class));
+        verify(logBufferService, times(1)).drain(any(Duration.class));
+        assertThat(workerLifecycle.isRunning()).isFalse();
+    }
+}
@@ -2,7 +2,11 @@ package kr.java.minyeonglogapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
+@ConfigurationPropertiesScan
 @SpringBootApplication
 public class MinyeongLogApiApplication {
 
@@ -0,0 +1,60 @@
+package kr.java.minyeonglogapi.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 프로젝트별 수신량 제한 설정 (log.admission.*)
+ * projects 아래에 없는 프로젝트는 default-rate / default-burst를 사용
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "log.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // 초당 허용 로그 수
+    private double defaultRate = 5_000;
+
+    // 순간적으로 허용하는 최대 로그 수 (버킷 크기)
+    private double defaultBurst = 10_000;
+
+    // 이 시간 동안 요청이 없고 토큰이 가득 찬 버킷은 정리 (다시 오면 새 버킷 = 같은 상태)
+    private long bucketIdleMs = 60_000;
+
+    // 버킷 수 한도 (projectId는 클라이언트가 보내는 값이라 임의 값으로 메모리를 키울 수 없게)
+    // 넘으면 새 프로젝트는 하나의 공용 버킷을 함께 씀
+    private int maxBuckets = 100_000;
+
+    // 프로젝트별 개별 제한 (key: projectId)
+    private Map<String, Limit> projects = new HashMap<>();
+
+    private Pressure pressure = new Pressure();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double rate;
+        private double burst;
+    }
+
+    /**
+     * Stream 적체(XLEN)나 Consumer Group lag이 임계치를 넘으면 모든 프로젝트의 rate에 factor를 곱함
+     */
+    @Getter
+    @Setter
+    public static class Pressure {
+        private long checkIntervalMs = 1_000;
+        private long streamLengthWarn = 500_000;
+        private long streamLengthCritical = 2_000_000;
+        private long lagWarn = 100_000;
+        private long lagCritical = 500_000;
+        private double warnFactor = 0.5;
+        private double criticalFactor = 0.1;
+    }
+}
@@ -0,0 +1,131 @@
+package kr.java.minyeonglogapi.admission;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * projectId별 Token Bucket 수신량 제한
+ * - 한 게임 빌드가 폭주해도 다른 프로젝트의 수신에는 영향이 없도록 격리
+ * - 제한 값은 설정으로 시작하고 관리 API로 런타임에 변경 가능
+ * - StreamPressureMonitor가 Stream 적체에 따라 전체 rate를 줄임
+ * - 쓰이지 않는 버킷은 주기적으로 정리하고, 버킷 수가 max-buckets에 닿으면 새 프로젝트는 공용 버킷으로 제한
+ *   (임의의 projectId를 보내 버킷을 무한히 만들 수 없도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectRateLimiter {
+
+    private static final String UNKNOWN_PROJECT = "unknown";
+    private static final String OVERFLOW_PROJECT = "overflow";
+
+    private final AdmissionProperties properties;
+
+    private final Map<String, AdmissionProperties.Limit> overrides = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile double pressureFactor = 1.0;
+
+    @PostConstruct
+    public void init() {
+        overrides.putAll(properties.getProjects());
+    }
+
+    /**
+     * @return 0이면 허용, 0보다 크면 클라이언트가 기다려야 하는 초 (Retry-After)
+     */
+    public long tryAcquire(String projectId, int permits) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        String key = projectId != null ? projectId : UNKNOWN_PROJECT;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            // 검사와 생성이 원자적이지 않아 동시 요청 수만큼은 한도를 넘을 수 있음
+            bucket = buckets.size() < properties.getMaxBuckets()
+                    ? buckets.computeIfAbsent(key, this::newBucket)
+                    : buckets.computeIfAbsent(OVERFLOW_PROJECT, this::newBucket);
+        }
+
+        long waitNanos = bucket.tryAcquire(permits, pressureFactor, System.nanoTime());
+        if (waitNanos == 0) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+    }
+
+    @Scheduled(fixedDelayString = "${log.admission.bucket-idle-ms:60000}")
+    public void evictIdleBuckets() {
+        long nowNanos = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBucketIdleMs());
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos, idleNanos));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("[Admission] Evicted {} idle rate limit buckets ({} left)", evicted, buckets.size());
+        }
+    }
+
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    public AdmissionProperties.Limit getLimit(String projectId) {
+        return overrides.getOrDefault(projectId, defaultLimit());
+    }
+
+    public Map<String, AdmissionProperties.Limit> getOverrides() {
+        return Map.copyOf(overrides);
+    }
+
+    public void updateLimit(String projectId, double rate, double burst) {
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setRate(rate);
+        limit.setBurst(burst);
+        overrides.put(projectId, limit);
+        reconfigure(projectId, limit);
+        log.info("[Admission] Rate limit for project {} set to {}/s (burst {})", projectId, rate, burst);
+    }
+
+    public void resetLimit(String projectId) {
+        overrides.remove(projectId);
+        reconfigure(projectId, defaultLimit());
+        log.info("[Admission] Rate limit for project {} reset to default", projectId);
+    }
+
+    public double getPressureFactor() {
+        return pressureFactor;
+    }
+
+    public void setPressureFactor(double pressureFactor) {
+        if (this.pressureFactor != pressureFactor) {
+            log.warn("[Admission] Pressure factor changed {} -> {}", this.pressureFactor, pressureFactor);
+            this.pressureFactor = pressureFactor;
+        }
+    }
+
+    private void reconfigure(String projectId, AdmissionProperties.Limit limit) {
+        TokenBucket bucket = buckets.get(projectId);
+        if (bucket != null) {
+            bucket.reconfigure(limit.getRate(), limit.getBurst());
+        }
+    }
+
+    private TokenBucket newBucket(String projectId) {
+        AdmissionProperties.Limit limit = getLimit(projectId);
+        return new TokenBucket(limit.getRate(), limit.getBurst(), System.nanoTime());
+    }
+
+    private AdmissionProperties.Limit defaultLimit() {
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setRate(properties.getDefaultRate());
+        limit.setBurst(properties.getDefaultBurst());
+        return limit;
+    }
+}
@@ -0,0 +1,20 @@
+package kr.java.minyeonglogapi.admission;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String projectId;
+    private final long retryAfterSeconds;
+
+    // 제한에 걸리기 전까지 이미 Stream에 기록된 로그 수 (클라이언트는 나머지만 재전송)
+    private final int acceptedCount;
+
+    public RateLimitExceededException(String projectId, long retryAfterSeconds, int acceptedCount) {
+        super("Rate limit exceeded for project " + projectId);
+        this.projectId = projectId;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.acceptedCount = acceptedCount;
+    }
+}
@@ -0,0 +1,73 @@
+package kr.java.minyeonglogapi.admission;
+
+import kr.java.minyeonglogapi.service.LogStreamShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stream 길이(XLEN)와 Consumer Group lag을 주기적으로 확인해서 수신량 제한을 조임
+ * worker가 따라오지 못하는 동안 Stream이 Redis 메모리를 다 먹지 않도록 입구에서 막음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamPressureMonitor {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LogStreamShards logStreamShards;
+    private final ProjectRateLimiter projectRateLimiter;
+    private final AdmissionProperties properties;
+
+    @Value("${redis.stream.group:log-group}")
+    private String consumerGroup;
+
+    @Scheduled(fixedDelayString = "${log.admission.pressure.check-interval-ms:1000}")
+    public void checkPressure() {
+        StreamOperations<String, Object, Object> streamOps = stringRedisTemplate.opsForStream();
+        long maxLength = 0;
+        long maxLag = 0;
+
+        try {
+            for (String streamKey : logStreamShards.keys()) {
+                Long length = streamOps.size(streamKey);
+                maxLength = Math.max(maxLength, length != null ? length : 0);
+                if (length != null && length > 0) {
+                    maxLag = Math.max(maxLag, groupLag(streamOps, streamKey));
+                }
+            }
+        } catch (Exception e) {
+            // Redis 자체가 안 될 때는 Spool이 받아주므로 여기서는 제한을 바꾸지 않음
+            log.debug("Failed to check stream pressure: {}", e.getMessage());
+            return;
+        }
+
+        AdmissionProperties.Pressure pressure = properties.getPressure();
+        double factor = 1.0;
+        if (maxLength >= pressure.getStreamLengthCritical() || maxLag >= pressure.getLagCritical()) {
+            factor = pressure.getCriticalFactor();
+        } else if (maxLength >= pressure.getStreamLengthWarn() || maxLag >= pressure.getLagWarn()) {
+            factor = pressure.getWarnFactor();
+        }
+        projectRateLimiter.setPressureFactor(factor);
+    }
+
+    // Redis 7+는 XINFO GROUPS에 lag을 주고, 그 이전 버전은 pending 수로 대신함
+    private long groupLag(StreamOperations<String, Object, Object> streamOps, String streamKey) {
+        StreamInfo.XInfoGroups groups = streamOps.groups(streamKey);
+        return groups.stream()
+                .filter(group -> consumerGroup.equals(group.groupName()))
+                .mapToLong(group -> {
+                    Object lag = group.getRaw().get("lag");
+                    long pending = group.pendingCount() != null ? group.pendingCount() : 0;
+                    return lag instanceof Number number ? Math.max(number.longValue(), pending) : pending;
+                })
+                .max()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,60 @@
+package kr.java.minyeonglogapi.admission;
+
+/**
+ * 프로젝트 하나의 Token Bucket
+ * 요청마다 짧게 잡는 락이라 synchronized로 충분함
+ */
+class TokenBucket {
+
+    private double rate;
+    private double burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double rate, double burst, long nowNanos) {
+        this.rate = rate;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * @param factor 적체 상황에 따라 rate에 곱하는 값 (1.0 = 정상)
+     * @return 0이면 허용, 0보다 크면 permits 만큼 토큰이 쌓일 때까지 기다려야 하는 나노초
+     */
+    synchronized long tryAcquire(int permits, double factor, long nowNanos) {
+        double effectiveRate = rate * factor;
+        refill(effectiveRate, nowNanos);
+
+        if (tokens >= permits) {
+            tokens -= permits;
+            return 0;
+        }
+        if (effectiveRate <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.ceil((permits - tokens) / effectiveRate * 1_000_000_000L);
+    }
+
+    /**
+     * idleNanos 이상 쓰이지 않았고 지금 토큰이 가득 찼는지 (새 버킷으로 바꿔도 차이가 없는 상태)
+     */
+    synchronized boolean isIdle(long nowNanos, long idleNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        return elapsed >= idleNanos && tokens + elapsed / 1_000_000_000.0 * rate >= burst;
+    }
+
+    synchronized void reconfigure(double rate, double burst) {
+        this.rate = rate;
+        this.burst = burst;
+        this.tokens = Math.min(tokens, burst);
+    }
+
+    private void refill(double effectiveRate, long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed / 1_000_000_000.0 * effectiveRate);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package kr.java.minyeonglogapi.controller;
 
-import kr.java.minyeonglogapi.dto.GameLogDto;
-import kr.java.minyeonglogapi.service.LogProducerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.luben.zstd.ZstdIOException;
+import jakarta.servlet.http.HttpServletRequest;
+import kr.java.minyeonglogapi.admission.RateLimitExceededException;
+import kr.java.minyeonglogapi.filter.DecompressedBodyTooLargeException;
+import kr.java.minyeonglogapi.service.GameLogBinaryReader;
+import kr.java.minyeonglogapi.service.InvalidBinaryLogException;
+import kr.java.minyeonglogapi.service.LogIngestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.zip.ZipException;
 
 @Slf4j
 @RestController
@@ -18,23 +29,97 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LogController {
 
-    private final LogProducerService logProducerService;
+    // 429 응답 시 이미 기록된 로그 수 (배열 앞에서부터 몇 개가 저장됐는지)
+    private static final String ACCEPTED_COUNT_HEADER = "X-Logs-Accepted";
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final LogIngestService logIngestService;
 
     /**
      * 배치 로그 수신 API
      * 클라이언트가 [ {log1}, {log2}, ... ] 형태로 보냄
+     * Body를 List로 한 번에 바인딩하지 않고 스트리밍으로 읽으면서 chunk 단위로 Redis에 전송
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> receiveBatchLogs(HttpServletRequest request) throws IOException {
+        // 1. Body를 읽으면서 chunk 단위로 서비스 계층에 전달 (Pipeline 태우기 위함)
+        int received = logIngestService.ingestJsonArray(request.getInputStream());
+        return toResponse(received);
+    }
+
+    /**
+     * NDJSON 배치 수신 API (한 줄에 로그 하나)
+     * 배열 괄호/쉼표가 없어서 SDK가 로그를 만드는 대로 이어 붙여 보낼 수 있음
      */
-    @PostMapping("/batch")
-    public ResponseEntity<String> receiveBatchLogs(@RequestBody List<GameLogDto> logs) {
-        // 1. 로그가 비어있으면 바로 리턴 (방어 로직)
-        if (logs == null || logs.isEmpty()) {
+    @PostMapping(value = "/batch", consumes = NDJSON_VALUE)
+    public ResponseEntity<String> receiveNdjsonLogs(HttpServletRequest request) throws IOException {
+        int received = logIngestService.ingestNdjson(request.getInputStream());
+        return toResponse(received);
+    }
+
+    /**
+     * 바이너리 배치 수신 API (application/x-gamelog-batch)
+     * JSON 파싱 없이 길이 prefix 레코드를 바로 Stream 레코드로 디코딩
+     */
+    @PostMapping(value = "/batch", consumes = GameLogBinaryReader.CONTENT_TYPE)
+    public ResponseEntity<String> receiveBinaryLogs(HttpServletRequest request) throws IOException {
+        int received = logIngestService.ingestBinary(request.getInputStream());
+        return toResponse(received);
+    }
+
+    private ResponseEntity<String> toResponse(int received) {
+        // 로그가 비어있으면 바로 리턴 (방어 로직)
+        if (received == 0) {
             return ResponseEntity.badRequest().body("Log list is empty");
         }
 
-        // 2. 서비스 계층으로 리스트 통째로 전달 (Pipeline 태우기 위함)
-        logProducerService.sendLogsInBatch(logs);
+        // 비동기 처리이므로 클라이언트에게는 즉시 OK 응답
+        return ResponseEntity.ok("Received " + received + " logs");
+    }
+
+    // 스트리밍 파싱 중 형식 오류는 @RequestBody 바인딩 실패와 동일하게 400으로 응답
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<String> handleMalformedBody(JsonProcessingException e) {
+        log.warn("Malformed log batch body: {}", e.getOriginalMessage());
+        return ResponseEntity.badRequest().body("Malformed log batch");
+    }
+
+    // 바이너리 포맷 위반 (magic 불일치, 잘린 레코드, 잘못된 UTF-8 등)
+    @ExceptionHandler(InvalidBinaryLogException.class)
+    public ResponseEntity<String> handleMalformedBinary(InvalidBinaryLogException e) {
+        log.warn("Malformed binary log batch body: {}", e.getMessage());
+        return ResponseEntity.badRequest().body("Malformed log batch");
+    }
+
+    // 압축 해제 후 크기가 한도를 넘는 Body (압축 폭탄 방지)
+    @ExceptionHandler(DecompressedBodyTooLargeException.class)
+    public ResponseEntity<String> handleTooLargeBody(DecompressedBodyTooLargeException e) {
+        log.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("Log batch is too large");
+    }
+
+    // 압축 스트림 중간이 깨진 Body
+    @ExceptionHandler({ZipException.class, ZstdIOException.class})
+    public ResponseEntity<String> handleMalformedCompression(IOException e) {
+        log.warn("Malformed compressed log batch body: {}", e.getMessage());
+        return ResponseEntity.badRequest().body("Malformed compressed body");
+    }
+
+    // Redis 전송도 로컬 Spool 기록도 실패한 경우 (클라이언트가 재시도해야 함)
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<String> handleWriteFailure(CompletionException e) {
+        log.error("Failed to store log batch", e.getCause());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Log pipeline unavailable");
+    }
 
-        // 3. 비동기 처리이므로 클라이언트에게는 즉시 OK 응답
-        return ResponseEntity.ok("Received " + logs.size() + " logs");
+    // 프로젝트 수신량 제한 초과: 앞에서 받은 로그 수를 알려주고 나머지는 Retry-After 이후 재전송
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimited(RateLimitExceededException e) {
+        log.warn("Rate limited project {} (accepted {} logs before limit)", e.getProjectId(), e.getAcceptedCount());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .header(ACCEPTED_COUNT_HEADER, String.valueOf(e.getAcceptedCount()))
+                .body("Rate limit exceeded for project " + e.getProjectId());
     }
-}
\ No newline at end of file
+}
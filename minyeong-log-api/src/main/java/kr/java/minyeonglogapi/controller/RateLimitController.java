@@ -0,0 +1,63 @@
+package kr.java.minyeonglogapi.controller;
+
+import kr.java.minyeonglogapi.admission.AdmissionProperties;
+import kr.java.minyeonglogapi.admission.ProjectRateLimiter;
+import kr.java.minyeonglogapi.dto.RateLimitRequest;
+import kr.java.minyeonglogapi.dto.RateLimitResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 프로젝트별 수신량 제한 관리 API (재배포 없이 런타임 변경)
+ * AdminTokenFilter가 X-Admin-Token 헤더를 검사하므로 log.admin.token 설정 시에만 사용 가능
+ */
+@RestController
+@RequestMapping("/api/admin/rate-limits")
+@RequiredArgsConstructor
+public class RateLimitController {
+
+    private final ProjectRateLimiter projectRateLimiter;
+
+    @GetMapping
+    public ResponseEntity<List<RateLimitResponse>> getOverrides() {
+        List<RateLimitResponse> limits = projectRateLimiter.getOverrides().entrySet().stream()
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(limits);
+    }
+
+    @GetMapping("/{projectId}")
+    public ResponseEntity<RateLimitResponse> getLimit(@PathVariable String projectId) {
+        return ResponseEntity.ok(toResponse(projectId, projectRateLimiter.getLimit(projectId)));
+    }
+
+    @PutMapping("/{projectId}")
+    public ResponseEntity<RateLimitResponse> updateLimit(@PathVariable String projectId,
+                                                         @RequestBody RateLimitRequest request) {
+        if (request.getRate() <= 0 || request.getBurst() < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        projectRateLimiter.updateLimit(projectId, request.getRate(), request.getBurst());
+        return ResponseEntity.ok(toResponse(projectId, projectRateLimiter.getLimit(projectId)));
+    }
+
+    @DeleteMapping("/{projectId}")
+    public ResponseEntity<Void> resetLimit(@PathVariable String projectId) {
+        projectRateLimiter.resetLimit(projectId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private RateLimitResponse toResponse(String projectId, AdmissionProperties.Limit limit) {
+        return new RateLimitResponse(projectId, limit.getRate(), limit.getBurst(),
+                projectRateLimiter.getPressureFactor());
+    }
+}
@@ -0,0 +1,12 @@
+package kr.java.minyeonglogapi.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class RateLimitRequest {
+
+    private double rate;  // 초당 허용 로그 수
+    private double burst; // 순간 허용 로그 수 (버킷 크기)
+}
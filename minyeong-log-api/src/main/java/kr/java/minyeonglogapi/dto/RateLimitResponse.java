@@ -0,0 +1,14 @@
+package kr.java.minyeonglogapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RateLimitResponse {
+
+    private String projectId;
+    private double rate;
+    private double burst;
+    private double pressureFactor; // Stream 적체에 따라 rate에 곱해지는 값 (1.0 = 정상)
+}
@@ -0,0 +1,60 @@
+package kr.java.minyeonglogapi.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 관리 API(/api/admin/**) 접근 제어
+ * 로그 수신과 같은 포트에 노출되므로, 설정된 관리자 토큰(X-Admin-Token)이 일치할 때만 통과시킴
+ * 토큰이 설정되지 않았으면 관리 API 자체를 막음 (기본값 = 비활성화)
+ */
+@Slf4j
+@Component
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    static final String ADMIN_API_PREFIX = "/api/admin";
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    @Value("${log.admin.token:}")
+    private String adminToken;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 인코딩/중복 슬래시 우회를 막기 위해 컨테이너가 정규화한 경로로 판단
+        return !request.getServletPath().startsWith(ADMIN_API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (adminToken == null || adminToken.isBlank()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Admin API is disabled");
+            return;
+        }
+
+        String token = request.getHeader(ADMIN_TOKEN_HEADER);
+        if (token == null || !matches(token)) {
+            log.warn("Rejected admin request without valid token: {} {} from {}",
+                    request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid admin token");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // 토큰 비교 시간으로 일치 여부가 새지 않도록 고정 시간 비교
+    private boolean matches(String token) {
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), adminToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
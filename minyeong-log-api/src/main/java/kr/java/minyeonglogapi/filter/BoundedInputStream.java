@@ -0,0 +1,51 @@
+package kr.java.minyeonglogapi.filter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽은 바이트 수가 한도를 넘으면 DecompressedBodyTooLargeException을 던지는 스트림
+ */
+class BoundedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long readBytes;
+
+    BoundedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    private void count(long n) throws DecompressedBodyTooLargeException {
+        readBytes += n;
+        if (readBytes > maxBytes) {
+            throw new DecompressedBodyTooLargeException(maxBytes);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package kr.java.minyeonglogapi.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 압축 해제 스트림을 ServletInputStream으로 감싸는 어댑터
+ * 로그 수신 API는 블로킹 I/O만 사용하므로 비동기 읽기(ReadListener)는 지원하지 않음
+ */
+class DecodingServletInputStream extends ServletInputStream {
+
+    private final InputStream delegate;
+    private boolean finished;
+
+    DecodingServletInputStream(InputStream delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = delegate.read();
+        if (b == -1) {
+            finished = true;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = delegate.read(b, off, len);
+        if (n == -1) {
+            finished = true;
+        }
+        return n;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        throw new UnsupportedOperationException("Non-blocking read is not supported for decompressed bodies");
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,10 @@
+package kr.java.minyeonglogapi.filter;
+
+import java.io.IOException;
+
+public class DecompressedBodyTooLargeException extends IOException {
+
+    public DecompressedBodyTooLargeException(long maxBytes) {
+        super("Decompressed request body exceeds " + maxBytes + " bytes");
+    }
+}
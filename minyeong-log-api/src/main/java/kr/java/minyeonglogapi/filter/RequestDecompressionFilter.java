@@ -0,0 +1,128 @@
+package kr.java.minyeonglogapi.filter;
+
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * 로그 수신 API의 압축된 요청 Body(Content-Encoding: gzip / zstd)를 스트리밍으로 해제
+ * Body 전체를 메모리에 풀어놓지 않고, 컨트롤러가 읽는 만큼만 압축을 해제함
+ */
+@Slf4j
+@Component
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final String LOG_API_PREFIX = "/api/logs/";
+    private static final int DECODE_BUFFER_SIZE = 16 * 1024;
+
+    // 압축 해제 후 허용하는 최대 Body 크기 (압축 폭탄 방지)
+    @Value("${log.ingest.max-decompressed-bytes:67108864}")
+    private long maxDecompressedBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(LOG_API_PREFIX)
+                || request.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim().toLowerCase(Locale.ROOT);
+
+        InputStream decoded;
+        try {
+            switch (encoding) {
+                case "identity" -> {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                case "gzip", "x-gzip" -> decoded = new GZIPInputStream(request.getInputStream(), DECODE_BUFFER_SIZE);
+                case "zstd" -> decoded = new BufferedInputStream(new ZstdInputStream(request.getInputStream()), DECODE_BUFFER_SIZE);
+                default -> {
+                    log.warn("Unsupported Content-Encoding: {}", encoding);
+                    response.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, zstd");
+                    response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Unsupported Content-Encoding");
+                    return;
+                }
+            }
+        } catch (ZipException e) {
+            // gzip 헤더부터 깨진 경우 (GZIPInputStream은 생성 시점에 헤더를 읽음)
+            log.warn("Malformed {} request body: {}", encoding, e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed compressed body");
+            return;
+        }
+
+        try (InputStream body = new BoundedInputStream(decoded, maxDecompressedBytes)) {
+            filterChain.doFilter(new DecompressedRequest(request, body), response);
+        }
+    }
+
+    /**
+     * 압축이 해제된 Body를 노출하는 요청 래퍼
+     * 하위 계층에서 다시 압축을 해제하지 않도록 인코딩/길이 헤더를 숨김
+     */
+    private static class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream body;
+
+        DecompressedRequest(HttpServletRequest request, InputStream decoded) {
+            super(request);
+            this.body = new DecodingServletInputStream(decoded);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHiddenHeader(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHiddenHeader(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1L;
+        }
+
+        private boolean isHiddenHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package kr.java.minyeonglogapi.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.java.minyeonglogapi.service.LogBatchCoalescer;
+import kr.java.minyeonglogapi.spool.LogSpool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아직 Redis에 도달하지 못한 로그 양
+ * - log.producer.queue.depth : Coalescer 큐에서 Pipeline을 기다리는 요청 수
+ * - log.spool.backlog        : 로컬 Spool에 쌓여 재전송을 기다리는 크기
+ * - log.spool.degraded       : Spool 모드 여부 (1 = Redis 대신 Spool에 기록 중)
+ */
+@Component
+@RequiredArgsConstructor
+public class LogBacklogMetrics implements MeterBinder {
+
+    private final LogBatchCoalescer logBatchCoalescer;
+    private final LogSpool logSpool;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("log.producer.queue.depth", logBatchCoalescer, LogBatchCoalescer::getQueueDepth)
+                .description("Requests waiting for the next Redis pipeline")
+                .register(registry);
+        Gauge.builder("log.spool.backlog", logSpool, LogSpool::getBacklogBytes)
+                .description("Bytes spooled locally and not yet replayed to Redis")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("log.spool.degraded", logBatchCoalescer, coalescer -> coalescer.isDegraded() ? 1 : 0)
+                .description("1 while logs are being spooled instead of written to Redis")
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package kr.java.minyeonglogapi.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그 수신 Hot path 지표 (/actuator/prometheus)
+ * - log.producer.serialize       : 로그 1건 인코딩 시간
+ * - log.producer.serialize.failures : 인코딩 실패로 버려진 로그 수
+ * - log.producer.pipeline        : Redis Pipeline 1회 실행 시간
+ * - log.producer.batch.size      : Pipeline 1회에 담긴 로그 수
+ * - log.producer.bytes.written   : Redis Stream에 기록한 필드 크기 합
+ * Meter 조회 비용을 매번 치르지 않도록 생성 시점에 한 번만 등록해 둠
+ */
+@Component
+public class LogProducerMetrics {
+
+    private final Timer serializeTimer;
+    private final Counter serializeFailures;
+    private final Timer pipelineTimer;
+    private final DistributionSummary batchSize;
+    private final Counter bytesWritten;
+
+    public LogProducerMetrics(MeterRegistry registry) {
+        this.serializeTimer = Timer.builder("log.producer.serialize")
+                .description("Time to encode a single log into stream fields")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.serializeFailures = Counter.builder("log.producer.serialize.failures")
+                .description("Logs dropped because they could not be encoded")
+                .register(registry);
+        this.pipelineTimer = Timer.builder("log.producer.pipeline")
+                .description("Time to execute one Redis XADD pipeline")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("log.producer.batch.size")
+                .description("Logs per Redis pipeline")
+                .baseUnit("logs")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(10, 100, 500, 1000, 2000, 5000)
+                .register(registry);
+        this.bytesWritten = Counter.builder("log.producer.bytes.written")
+                .description("Approximate size of stream fields written to Redis")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public void recordSerialize(long nanos) {
+        serializeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSerializeFailure() {
+        serializeFailures.increment();
+    }
+
+    public void recordPipeline(long nanos, int logCount, long bytes) {
+        pipelineTimer.record(nanos, TimeUnit.NANOSECONDS);
+        batchSize.record(logCount);
+        bytesWritten.increment(bytes);
+    }
+}
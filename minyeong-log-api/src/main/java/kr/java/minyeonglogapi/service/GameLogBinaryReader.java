@@ -0,0 +1,166 @@
+package kr.java.minyeonglogapi.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 네이티브 게임 클라이언트용 바이너리 배치 포맷(application/x-gamelog-batch) 리더
+ * Jackson 바인딩 없이 바로 Stream 레코드(LogRecordCodec 필드)로 변환
+ *
+ * <pre>
+ * Body    := "GLB1" Record*
+ * Record  := varint(recordLength) varint(presenceBits) Field*
+ * Field   := varint(byteLength) UTF-8 bytes   (presenceBits에 켜진 필드만, 비트 순서대로)
+ * bit 0 projectId, 1 sessionId, 2 userId, 3 severity, 4 body,
+ *     5 occurredAt, 6 traceId, 7 spanId, 8 resource(JSON object), 9 attributes(JSON object)
+ * </pre>
+ * varint는 LEB128 (7비트씩, 하위 바이트 먼저)
+ */
+public class GameLogBinaryReader {
+
+    public static final String CONTENT_TYPE = "application/x-gamelog-batch";
+
+    private static final byte[] MAGIC = {'G', 'L', 'B', '1'};
+    private static final int MAX_RECORD_BYTES = 1024 * 1024;
+    private static final int MAX_FIELDS = 12;
+
+    private static final String[] FIELDS = {
+            LogRecordCodec.PROJECT_ID,
+            LogRecordCodec.SESSION_ID,
+            LogRecordCodec.USER_ID,
+            LogRecordCodec.SEVERITY,
+            LogRecordCodec.BODY,
+            LogRecordCodec.OCCURRED_AT,
+            LogRecordCodec.TRACE_ID,
+            LogRecordCodec.SPAN_ID,
+            LogRecordCodec.RESOURCE,
+            LogRecordCodec.ATTRIBUTES
+    };
+    private static final int RESOURCE_BIT = 8;
+    private static final int ATTRIBUTES_BIT = 9;
+
+    private final InputStream in;
+    private final String ingestedAt;
+    private byte[] recordBuffer = new byte[4096];
+    private boolean headerRead;
+
+    public GameLogBinaryReader(InputStream in, String ingestedAt) {
+        this.in = new BufferedInputStream(in, 16 * 1024);
+        this.ingestedAt = ingestedAt;
+    }
+
+    /**
+     * @return 다음 레코드, Body가 끝났으면 null
+     */
+    public Map<String, String> next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+            headerRead = true;
+        }
+
+        int first = in.read();
+        if (first == -1) {
+            return null;
+        }
+        int recordLength = readVarint(first);
+        if (recordLength <= 0 || recordLength > MAX_RECORD_BYTES) {
+            throw new InvalidBinaryLogException("Invalid record length: " + recordLength);
+        }
+        if (recordBuffer.length < recordLength) {
+            recordBuffer = new byte[Math.max(recordLength, recordBuffer.length * 2)];
+        }
+        readFully(recordBuffer, recordLength);
+        return decodeRecord(recordBuffer, recordLength);
+    }
+
+    private Map<String, String> decodeRecord(byte[] buffer, int length) throws InvalidBinaryLogException {
+        int[] position = {0};
+        int presence = readVarint(buffer, length, position);
+        if (presence >>> FIELDS.length != 0) {
+            throw new InvalidBinaryLogException("Unknown field bits: " + Integer.toBinaryString(presence));
+        }
+
+        Map<String, String> record = new HashMap<>(MAX_FIELDS * 4 / 3 + 1);
+        for (int bit = 0; bit < FIELDS.length; bit++) {
+            if ((presence & (1 << bit)) == 0) {
+                continue;
+            }
+            int fieldLength = readVarint(buffer, length, position);
+            if (fieldLength < 0 || position[0] + fieldLength > length) {
+                throw new InvalidBinaryLogException("Field " + FIELDS[bit] + " overruns record");
+            }
+            String value = new String(buffer, position[0], fieldLength, StandardCharsets.UTF_8);
+            position[0] += fieldLength;
+
+            if ((bit == RESOURCE_BIT || bit == ATTRIBUTES_BIT) && !looksLikeJsonObject(value)) {
+                throw new InvalidBinaryLogException("Field " + FIELDS[bit] + " must be a JSON object");
+            }
+            record.put(FIELDS[bit], value);
+        }
+        if (position[0] != length) {
+            throw new InvalidBinaryLogException("Trailing bytes in record");
+        }
+        record.put(LogRecordCodec.INGESTED_AT, ingestedAt);
+        // JSON 경로(LogRecordCodec)와 같이 수신 시점에 logId 부여 (재전송된 사본도 같은 log_id)
+        record.put(LogRecordCodec.LOG_ID, UuidV7.generate().toString());
+        return record;
+    }
+
+    private void readHeader() throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        int read = in.readNBytes(magic, 0, magic.length);
+        if (read != MAGIC.length || !Arrays.equals(magic, MAGIC)) {
+            throw new InvalidBinaryLogException("Missing GLB1 header");
+        }
+    }
+
+    private int readVarint(int firstByte) throws IOException {
+        int value = firstByte & 0x7F;
+        int shift = 7;
+        int b = firstByte;
+        while ((b & 0x80) != 0) {
+            if (shift > 28) {
+                throw new InvalidBinaryLogException("Varint too long");
+            }
+            b = in.read();
+            if (b == -1) {
+                throw new InvalidBinaryLogException("Truncated varint");
+            }
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+
+    private int readVarint(byte[] buffer, int length, int[] position) throws InvalidBinaryLogException {
+        int value = 0;
+        for (int shift = 0; shift <= 28; shift += 7) {
+            if (position[0] >= length) {
+                throw new InvalidBinaryLogException("Truncated varint");
+            }
+            int b = buffer[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidBinaryLogException("Varint too long");
+    }
+
+    private void readFully(byte[] buffer, int length) throws IOException {
+        if (in.readNBytes(buffer, 0, length) != length) {
+            throw new InvalidBinaryLogException("Truncated record");
+        }
+    }
+
+    // 바인딩 없이 하는 최소한의 구조 검사 (worker가 jsonb로 저장하므로 객체 형태만 보장)
+    private boolean looksLikeJsonObject(String value) {
+        String trimmed = value.strip();
+        return trimmed.length() >= 2 && trimmed.charAt(0) == '{' && trimmed.charAt(trimmed.length() - 1) == '}';
+    }
+}
@@ -0,0 +1,10 @@
+package kr.java.minyeonglogapi.service;
+
+import java.io.IOException;
+
+public class InvalidBinaryLogException extends IOException {
+
+    public InvalidBinaryLogException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,262 @@
+package kr.java.minyeonglogapi.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.java.minyeonglogapi.metrics.LogProducerMetrics;
+import kr.java.minyeonglogapi.service.LogResourceDictionary.ResourceDefinition;
+import kr.java.minyeonglogapi.spool.LogSpool;
+import kr.java.minyeonglogapi.spool.SpoolRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 요청의 로그를 하나의 Pipeline으로 모아서 XADD
+ * - 요청 스레드는 인코딩된 레코드를 큐에 넣고 Future만 받아감
+ * - 전용 스레드가 maxBatchSize 만큼 모이거나 lingerMs가 지나면 한 번에 전송
+ * - 전송이 끝나면 해당 레코드를 넣은 요청들의 Future를 완료
+ * 클라이언트 수천 명이 5~10개씩 보내도 Redis 왕복은 배치당 한 번
+ *
+ * Redis 전송이 실패하거나 latency budget을 넘기면 degraded 모드로 전환해
+ * 이후 배치를 로컬 Spool에 기록하고, Spool이 비워질 때까지 순서를 지키기 위해 계속 Spool로 보냄
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogBatchCoalescer {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LogSpool logSpool;
+    private final LogStreamShards logStreamShards;
+    private final LogProducerMetrics logProducerMetrics;
+    private final LogResourceDictionary logResourceDictionary;
+
+    // 한 번의 Pipeline으로 보낼 최대 레코드 수
+    @Value("${log.producer.coalesce.max-batch-size:2000}")
+    private int maxBatchSize;
+
+    // 첫 요청이 들어온 뒤 다른 요청을 기다리는 최대 시간
+    @Value("${log.producer.coalesce.linger-ms:2}")
+    private long lingerMs;
+
+    // 대기 중인 요청 수 한도 (가득 차면 요청 스레드가 대기 = 자연스러운 배압)
+    @Value("${log.producer.coalesce.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Pipeline 한 번이 이 시간을 넘기면 Redis가 느린 것으로 보고 Spool로 전환
+    @Value("${log.spool.latency-budget-ms:500}")
+    private long latencyBudgetMs;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread flusher;
+    private volatile boolean running;
+    private volatile boolean degraded;
+
+    @PostConstruct
+    public void start() {
+        if (maxBatchSize <= 0) {
+            log.warn("Invalid coalesce max batch size: {}. Resetting to 2000.", maxBatchSize);
+            maxBatchSize = 2000;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "log-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 종료 시점까지 큐에 들어온 레코드는 모두 전송하고 종료
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        // flusher가 마지막으로 큐를 확인한 뒤에 들어온 요청은 실패로 완료 (요청 스레드가 영원히 기다리지 않도록)
+        List<PendingWrite> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(pending -> pending.done().completeExceptionally(shutDown()));
+    }
+
+    /**
+     * 인코딩된 레코드를 다음 Pipeline에 합류시킴
+     *
+     * @return 레코드가 Redis에 기록되면 완료되는 Future
+     */
+    public CompletableFuture<Void> submit(List<Map<String, String>> records) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (records.isEmpty()) {
+            done.complete(null);
+            return done;
+        }
+        if (!running) {
+            done.completeExceptionally(shutDown());
+            return done;
+        }
+        PendingWrite pending = new PendingWrite(records, done);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done.completeExceptionally(e);
+            return done;
+        }
+        // running 확인과 put 사이에 stop()이 큐를 비웠으면 아무도 꺼내지 않으므로 직접 실패 처리
+        if (!running && queue.remove(pending)) {
+            done.completeExceptionally(shutDown());
+        }
+        return done;
+    }
+
+    private static IllegalStateException shutDown() {
+        return new IllegalStateException("Log coalescer is shut down");
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Spool 재전송이 끝나 Redis로 직접 보내도 되는 상태가 되면 Replayer가 호출
+     */
+    public void markRecovered() {
+        if (degraded) {
+            degraded = false;
+            log.info("[Spool] Redis recovered. Writing logs directly to Redis Stream again.");
+        }
+    }
+
+    private void runFlushLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                int recordCount = first.records().size();
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (recordCount < maxBatchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    recordCount += next.records().size();
+                }
+
+                write(batch, recordCount);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in log coalescer loop", e);
+                // 완료되지 않은 Future가 남으면 요청 스레드가 join()에서 영원히 대기함 (이미 완료된 Future는 무시됨)
+                batch.forEach(pending -> pending.done().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch, int recordCount) {
+        // 이번 배치의 레코드가 참조하는 resource 정의는 모두 이 시점 전에 pending에 들어가 있음
+        List<ResourceDefinition> definitions = logResourceDictionary.drainPending();
+
+        // Spool에 먼저 들어간 로그가 있으면 순서를 지키기 위해 뒤따르는 로그도 Spool로
+        if (degraded || logSpool.hasBacklog()) {
+            spool(definitions, batch, recordCount);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            long[] bytes = {0};
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConn = (StringRedisConnection) connection;
+                // 정의를 XADD보다 먼저 기록해야 worker가 참조를 해석할 수 있음
+                for (ResourceDefinition definition : definitions) {
+                    stringRedisConn.hSetNX(logStreamShards.resourceKey(), definition.ref(), definition.json());
+                    bytes[0] += definition.ref().length() + definition.json().length();
+                }
+                for (PendingWrite pending : batch) {
+                    for (Map<String, String> record : pending.records()) {
+                        stringRedisConn.xAdd(shardKeyOf(record), record);
+                        bytes[0] += sizeOf(record);
+                    }
+                }
+                return null;
+            });
+            long elapsedNanos = System.nanoTime() - start;
+            logProducerMetrics.recordPipeline(elapsedNanos, recordCount, bytes[0]);
+            batch.forEach(pending -> pending.done().complete(null));
+            log.debug("Coalesced {} requests into one pipeline of {} logs", batch.size(), recordCount);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            if (elapsedMs > latencyBudgetMs) {
+                degraded = true;
+                log.warn("[Spool] Redis pipeline took {}ms (budget {}ms). Spooling logs until Redis catches up.",
+                        elapsedMs, latencyBudgetMs);
+            }
+        } catch (Exception e) {
+            // 일부 XADD가 이미 반영됐을 수 있으나 유실보다는 중복을 택함 (at-least-once)
+            degraded = true;
+            log.warn("[Spool] Failed to write {} logs to Redis Stream. Spooling locally.", recordCount, e);
+            spool(definitions, batch, recordCount);
+        }
+    }
+
+    private void spool(List<ResourceDefinition> definitions, List<PendingWrite> batch, int recordCount) {
+        List<SpoolRecord> records = new ArrayList<>(definitions.size() + recordCount);
+        // Replayer가 resource 키의 레코드는 XADD 대신 HSETNX로 재전송
+        for (ResourceDefinition definition : definitions) {
+            records.add(new SpoolRecord(logStreamShards.resourceKey(), Map.of(definition.ref(), definition.json())));
+        }
+        for (PendingWrite pending : batch) {
+            for (Map<String, String> record : pending.records()) {
+                records.add(new SpoolRecord(shardKeyOf(record), record));
+            }
+        }
+        try {
+            logSpool.append(records);
+            batch.forEach(pending -> pending.done().complete(null));
+        } catch (Exception e) {
+            // IOException 외에도 mmap segment 오류 등 런타임 예외가 날 수 있음
+            log.error("Failed to spool {} logs. Rejecting requests.", recordCount, e);
+            batch.forEach(pending -> pending.done().completeExceptionally(e));
+        }
+    }
+
+    // 인코딩 없이 길이만 더한 근사치 (대부분 ASCII라 바이트 수와 거의 같음)
+    private long sizeOf(Map<String, String> record) {
+        long size = 0;
+        for (Map.Entry<String, String> field : record.entrySet()) {
+            size += field.getKey().length() + field.getValue().length();
+        }
+        return size;
+    }
+
+    private String shardKeyOf(Map<String, String> record) {
+        return logStreamShards.keyFor(record.get(LogRecordCodec.PROJECT_ID));
+    }
+
+    private record PendingWrite(List<Map<String, String>> records, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,213 @@
+package kr.java.minyeonglogapi.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.annotation.PostConstruct;
+import kr.java.minyeonglogapi.admission.ProjectRateLimiter;
+import kr.java.minyeonglogapi.admission.RateLimitExceededException;
+import kr.java.minyeonglogapi.dto.GameLogDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 로그 배치 Body를 스트리밍으로 읽으면서 chunkSize 만큼 모일 때마다 바로 Redis로 전송
+ * 전체 Body를 List로 바인딩하지 않고, 기록을 기다리는 chunk가 max-inflight-chunks에 닿으면
+ * 가장 오래된 chunk가 기록될 때까지 Body 읽기를 멈추므로 요청당 메모리는 chunkSize × (max-inflight-chunks + 1)로 제한됨
+ * (Body 중간에서 형식 오류가 나면 그 전까지의 chunk는 이미 Stream에 기록된 상태)
+ * 모든 chunk가 Redis에 기록된 뒤에 반환하고,
+ * 프로젝트 수신량 제한에 걸리면 그 전까지 읽은 로그만 기록하고 RateLimitExceededException
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogIngestService {
+
+    private final ObjectMapper objectMapper;
+    private final LogProducerService logProducerService;
+    private final ProjectRateLimiter projectRateLimiter;
+
+    // 한 번의 Pipeline으로 보낼 로그 개수 (요청 하나가 힙에 올리는 최대 로그 개수)
+    @Value("${log.ingest.chunk-size:500}")
+    private int chunkSize;
+
+    // 요청 하나가 Redis 기록을 기다리게 둘 수 있는 최대 chunk 수 (넘으면 가장 오래된 chunk를 기다림)
+    @Value("${log.ingest.max-inflight-chunks:4}")
+    private int maxInflightChunks;
+
+    private ObjectReader gameLogReader;
+
+    @PostConstruct
+    public void init() {
+        if (chunkSize <= 0) {
+            log.warn("Invalid ingest chunk size: {}. Resetting to 500.", chunkSize);
+            chunkSize = 500;
+        }
+        if (maxInflightChunks <= 0) {
+            log.warn("Invalid max in-flight chunks: {}. Resetting to 4.", maxInflightChunks);
+            maxInflightChunks = 4;
+        }
+        // 역직렬화기 조회 비용을 요청마다 치르지 않도록 Reader를 한 번만 만들어 둠
+        gameLogReader = objectMapper.readerFor(GameLogDto.class);
+    }
+
+    /**
+     * [ {log1}, {log2}, ... ] 형태의 JSON 배열
+     *
+     * @return 수신한 로그 개수 (body가 null 이거나 빈 배열이면 0)
+     */
+    public int ingestJsonArray(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                return 0;
+            }
+            if (first == JsonToken.VALUE_NULL) {
+                requireEndOfInput(parser);
+                return 0;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, List.class, "Expected JSON array of logs");
+            }
+
+            ChunkedSender<GameLogDto> sender = new ChunkedSender<>(logProducerService::sendLogsInBatch);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                GameLogDto logDto = gameLogReader.readValue(parser);
+                sender.add(logDto.getProjectId(), logDto);
+            }
+
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw MismatchedInputException.from(parser, GameLogDto.class, "Expected JSON object for each log");
+            }
+            // 마지막 Chunk를 보내기 전에 배열 뒤에 남은 내용이 없는지 확인 ("[...]garbage", "[...][...]" 거부)
+            requireEndOfInput(parser);
+            return sender.finish();
+        }
+    }
+
+    private void requireEndOfInput(JsonParser parser) throws IOException {
+        if (parser.nextToken() != null) {
+            throw MismatchedInputException.from(parser, List.class, "Unexpected content after JSON array of logs");
+        }
+    }
+
+    /**
+     * 한 줄에 로그 하나인 NDJSON (application/x-ndjson)
+     *
+     * @return 수신한 로그 개수
+     */
+    public int ingestNdjson(InputStream body) throws IOException {
+        try (MappingIterator<GameLogDto> logs = gameLogReader.readValues(body)) {
+            ChunkedSender<GameLogDto> sender = new ChunkedSender<>(logProducerService::sendLogsInBatch);
+            while (logs.hasNextValue()) {
+                GameLogDto logDto = logs.nextValue();
+                sender.add(logDto.getProjectId(), logDto);
+            }
+            return sender.finish();
+        }
+    }
+
+    /**
+     * 길이 prefix 바이너리 포맷 (GameLogBinaryReader 참고)
+     * DTO를 거치지 않고 바로 Stream 레코드로 디코딩
+     *
+     * @return 수신한 로그 개수
+     */
+    public int ingestBinary(InputStream body) throws IOException {
+        GameLogBinaryReader reader = new GameLogBinaryReader(body, OffsetDateTime.now().toString());
+        ChunkedSender<Map<String, String>> sender = new ChunkedSender<>(logProducerService::sendRecords);
+        Map<String, String> record;
+        while ((record = reader.next()) != null) {
+            sender.add(record.get(LogRecordCodec.PROJECT_ID), record);
+        }
+        return sender.finish();
+    }
+
+    /**
+     * 포맷과 무관한 공통 처리: chunk 모으기 → 수신량 제한 확인 → Coalescer로 전송
+     * 수신량 토큰은 chunk 안에서 같은 프로젝트가 이어진 구간(run)마다 한 번에 받음 (로그마다 버킷 락을 잡지 않도록)
+     * 구간이 거절되면 그 구간은 보내지 않고, 앞에서 받은 로그까지만 기록한 뒤 RateLimitExceededException
+     */
+    private class ChunkedSender<T> {
+
+        private final Function<List<T>, CompletableFuture<Void>> send;
+        private final List<T> chunk = new ArrayList<>(chunkSize);
+        private final Deque<CompletableFuture<Void>> writes = new ArrayDeque<>();
+        private int total;
+
+        // chunk에서 아직 토큰을 받지 않은 구간의 시작 위치와 프로젝트
+        private int runStart;
+        private String runProjectId;
+
+        ChunkedSender(Function<List<T>, CompletableFuture<Void>> send) {
+            this.send = send;
+        }
+
+        void add(String projectId, T log) {
+            if (chunk.size() > runStart && !Objects.equals(projectId, runProjectId)) {
+                admitRun();
+            }
+            if (chunk.size() == runStart) {
+                runProjectId = projectId;
+            }
+
+            chunk.add(log);
+            if (chunk.size() >= chunkSize) {
+                // 아직 Body를 읽는 중이지만 앞부분은 먼저 XADD
+                flushChunk();
+            }
+        }
+
+        int finish() {
+            flushChunk();
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+            return total;
+        }
+
+        private void admitRun() {
+            int permits = chunk.size() - runStart;
+            if (permits == 0) {
+                return;
+            }
+            long retryAfterSeconds = projectRateLimiter.tryAcquire(runProjectId, permits);
+            if (retryAfterSeconds > 0) {
+                chunk.subList(runStart, chunk.size()).clear();
+                finish();
+                throw new RateLimitExceededException(runProjectId, retryAfterSeconds, total);
+            }
+            runStart = chunk.size();
+        }
+
+        private void flushChunk() {
+            admitRun();
+            if (chunk.isEmpty()) {
+                return;
+            }
+            if (writes.size() >= maxInflightChunks) {
+                // Redis가 Body 읽기 속도를 못 따라가면 여기서 요청 스레드를 멈춰 인코딩된 chunk가 쌓이지 않게 함
+                writes.poll().join();
+            }
+            writes.add(send.apply(chunk));
+            total += chunk.size();
+            chunk.clear();
+            runStart = 0;
+        }
+    }
+}
@@ -1,61 +1,77 @@
 package kr.java.minyeonglogapi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.java.minyeonglogapi.dto.GameLogDto;
+import kr.java.minyeonglogapi.metrics.LogProducerMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.connection.StringRedisConnection;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LogProducerService {
 
-    private final StringRedisTemplate stringRedisTemplate;
-    private final ObjectMapper objectMapper;
+    private final LogRecordCodec logRecordCodec;
+    private final LogBatchCoalescer logBatchCoalescer;
+    private final LogProducerMetrics logProducerMetrics;
+    private final LogResourceDictionary logResourceDictionary;
 
-    // Redis Stream의 키 이름 (데모는 상수로 관리)
-    private static final String STREAM_KEY = "game-log-stream";
+    /**
+     * 로그를 Stream 레코드로 인코딩한 뒤 Coalescer에 넘김
+     * 다른 요청의 로그와 합쳐져 하나의 Pipeline으로 전송됨
+     *
+     * @return 로그가 Redis에 기록되면 완료되는 Future
+     */
+    public CompletableFuture<Void> sendLogsInBatch(List<GameLogDto> logs) {
+        if (logs == null || logs.isEmpty()) return CompletableFuture.completedFuture(null);
 
-    public void sendLogsInBatch(List<GameLogDto> logs) {
-        if (logs == null || logs.isEmpty()) return;
+        // 서버 수집 시각은 배치 단위로 한 번만 포맷팅
+        String ingestedAt = OffsetDateTime.now().toString();
 
-        // Pipeline 시작
-        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
-
-            // 커넥션을 String 전용으로 캐스팅 (사용하기 더 편함)
-            StringRedisConnection stringRedisConn = (StringRedisConnection) connection;
-
-            for (GameLogDto logDto : logs) {
-                try {
-                    // 1. DTO -> JSON String 직렬화 (가장 비용이 큰 작업)
-                    String jsonPayload = objectMapper.writeValueAsString(logDto);
-
-                    // 2. Stream에 저장할 Body 생성 (Key: "payload", Value: JSON)
-                    // Collections.singletonMap은 Map.of("payload", json)과 같으며 메모리를 적게 씀
-                    Map<String, String> body = Collections.singletonMap("payload", jsonPayload);
+        // 인코딩은 요청 스레드에서 수행 (Coalescer 스레드는 전송만 담당)
+        List<Map<String, String>> records = new ArrayList<>(logs.size());
+        for (GameLogDto logDto : logs) {
+            long start = System.nanoTime();
+            try {
+                // DTO -> 평탄화된 Stream 필드 (resource/attributes만 JSON 인코딩)
+                records.add(logRecordCodec.encode(logDto, ingestedAt));
+                logProducerMetrics.recordSerialize(System.nanoTime() - start);
+            } catch (Exception e) {
+                // 배치 중 로그 하나가 잘못돼도 나머지는 보내야 함
+                logProducerMetrics.recordSerializeFailure();
+                log.error("Failed to serialize log: {}", logDto, e);
+            }
+        }
 
-                    // 3. XADD 명령어 실행 (실제 전송 X, 버퍼에 쌓임)
-                    // xAdd(키, ID생성전략, 데이터Map)
-                    // executePipelined 안에서는 리턴값이 null임
-                    stringRedisConn.xAdd(STREAM_KEY, body);
+        return logBatchCoalescer.submit(records);
+    }
 
-                } catch (Exception e) {
-                    // 배치 중 로그 하나가 잘못돼도 나머지는 보내야 함
-                    log.error("Failed to serialize log: {}", logDto, e);
+    /**
+     * 이미 Stream 레코드 형태로 디코딩된 로그 전송 (바이너리 포맷 등)
+     * resource JSON은 사전 참조로 바꾸고, 호출 후 records를 재사용할 수 있도록 복사해서 넘김
+     */
+    public CompletableFuture<Void> sendRecords(List<Map<String, String>> records) {
+        if (records.isEmpty()) return CompletableFuture.completedFuture(null);
+        List<Map<String, String>> encoded = new ArrayList<>(records.size());
+        for (Map<String, String> record : records) {
+            String resource = record.remove(LogRecordCodec.RESOURCE);
+            try {
+                if (resource != null) {
+                    record.put(LogRecordCodec.RESOURCE_REF, logResourceDictionary.refFor(resource));
                 }
+                encoded.add(record);
+            } catch (Exception e) {
+                // 객체 모양만 검사된 resource가 JSON으로 읽히지 않는 경우 - 그 로그만 버림
+                logProducerMetrics.recordSerializeFailure();
+                log.error("Failed to encode resource of binary log. projectId: {}", record.get(LogRecordCodec.PROJECT_ID), e);
             }
-            return null; // 콜백의 리턴값은 무시됨
-        });
-        // Pipeline 종료 및 일괄 전송. 실제로 Redis로 날아가는 부분
-
-        log.info("Sent {} logs to Redis Stream via Pipeline", logs.size());
+        }
+        return logBatchCoalescer.submit(encoded);
     }
 }
@@ -0,0 +1,81 @@
+package kr.java.minyeonglogapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.java.minyeonglogapi.dto.GameLogDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis Stream 레코드 와이어 포맷 (log-api → log-worker)
+ * - 고정 필드는 JSON으로 감싸지 않고 Stream 필드에 문자열 그대로 저장
+ * - attributes 만 JSON 문자열로 미리 인코딩해서 저장
+ * - resource 는 LogResourceDictionary 참조(resourceRef)로 대체 (정의는 별도 Hash로 한 번만 전송)
+ * - logId(UUIDv7)는 수신 시점에 한 번만 부여 → Spool 재적재 / 재전송된 사본도 같은 log_id로 중복 INSERT가 걸러짐
+ * - 값이 없는 필드는 생략 (worker에서 기본값 처리)
+ * 필드 이름은 log-worker의 LogRecordCodec과 반드시 같아야 함
+ */
+@Component
+@RequiredArgsConstructor
+public class LogRecordCodec {
+
+    public static final String LOG_ID = "logId";
+    public static final String PROJECT_ID = "projectId";
+    public static final String SESSION_ID = "sessionId";
+    public static final String USER_ID = "userId";
+    public static final String SEVERITY = "severity";
+    public static final String BODY = "body";
+    public static final String OCCURRED_AT = "occurredAt";
+    public static final String INGESTED_AT = "ingestedAt";
+    public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
+    public static final String RESOURCE = "resource";
+    public static final String RESOURCE_REF = "resourceRef";
+    public static final String ATTRIBUTES = "attributes";
+
+    // 레코드당 최대 필드 수 (HashMap 리사이즈 방지용)
+    private static final int MAX_FIELDS = 12;
+
+    private final ObjectMapper objectMapper;
+    private final LogResourceDictionary logResourceDictionary;
+
+    /**
+     * DTO 전체를 JSON으로 만들지 않고 필드 단위로 Stream 레코드 생성
+     *
+     * @param ingestedAt 서버 수집 시각 (배치 단위로 한 번만 포맷팅해서 전달)
+     */
+    public Map<String, String> encode(GameLogDto dto, String ingestedAt) throws JsonProcessingException {
+        Map<String, String> record = new HashMap<>(MAX_FIELDS * 4 / 3 + 1);
+        record.put(LOG_ID, UuidV7.generate().toString());
+        putIfPresent(record, PROJECT_ID, dto.getProjectId());
+        putIfPresent(record, SESSION_ID, dto.getSessionId());
+        putIfPresent(record, USER_ID, dto.getUserId());
+        putIfPresent(record, SEVERITY, dto.getSeverity());
+        putIfPresent(record, BODY, dto.getBody());
+        putIfPresent(record, OCCURRED_AT, dto.getOccurredAt());
+        putIfPresent(record, INGESTED_AT, ingestedAt);
+        putIfPresent(record, TRACE_ID, dto.getTraceId());
+        putIfPresent(record, SPAN_ID, dto.getSpanId());
+        if (dto.getResource() != null && !dto.getResource().isEmpty()) {
+            record.put(RESOURCE_REF, logResourceDictionary.refFor(dto.getResource()));
+        }
+        putJsonIfPresent(record, ATTRIBUTES, dto.getAttributes());
+        return record;
+    }
+
+    private void putIfPresent(Map<String, String> record, String field, String value) {
+        if (value != null) {
+            record.put(field, value);
+        }
+    }
+
+    private void putJsonIfPresent(Map<String, String> record, String field, Map<String, Object> value)
+            throws JsonProcessingException {
+        if (value != null && !value.isEmpty()) {
+            record.put(field, objectMapper.writeValueAsString(value));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package kr.java.minyeonglogapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * resource(기기/OS/빌드 등 세션 내내 같은 정적 환경 정보) 사전 인코딩
+ * - 로그 레코드에는 resource JSON 대신 해시 참조(resourceRef)만 실음
+ * - 처음 보는 해시면 정의(ref → JSON)를 pending 큐에 넣고,
+ *   Coalescer가 다음 Pipeline에서 XADD보다 먼저 {stream key}:resources Hash에 HSETNX
+ *   (정의를 pending에 넣은 뒤에 참조를 캐시에 공개 → 캐시에서 참조를 받은 레코드는 정의보다 먼저 XADD되지 않음)
+ * - worker는 참조를 LRU → log_resource 테이블 → Redis Hash 순으로 해석
+ * 참조 = canonical JSON(키 정렬)의 SHA-256 앞 16바이트 base64url (log-worker LogResourceResolver와 같은 규칙)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogResourceDictionary {
+
+    private static final int REF_BYTES = 16;
+    private static final TypeReference<Map<String, Object>> RESOURCE_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    // 인스턴스가 최근에 정의를 보낸 resource 수 (넘치면 오래된 것부터 잊고, 다시 보면 정의를 한 번 더 보냄)
+    @Value("${log.resource.cache-size:10000}")
+    private int cacheSize;
+
+    private ObjectMapper canonicalMapper;
+    private Map<Object, String> refs;
+    private final Queue<ResourceDefinition> pending = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    public void init() {
+        if (cacheSize <= 0) {
+            log.warn("Invalid resource cache size: {}. Resetting to 10000.", cacheSize);
+            cacheSize = 10000;
+        }
+        canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        refs = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * DTO 경로: Map 자체를 캐시 키로 쓰므로 이미 본 resource는 JSON 직렬화도 하지 않음
+     */
+    public String refFor(Map<String, Object> resource) throws JsonProcessingException {
+        String ref = cached(resource);
+        if (ref != null) {
+            return ref;
+        }
+        return define(resource, canonicalMapper.writeValueAsString(resource));
+    }
+
+    /**
+     * 바이너리 경로: 클라이언트가 보낸 JSON 문자열을 캐시 키로 쓰고,
+     * 처음 보는 문자열만 canonical JSON으로 다시 직렬화해서 해시 (키 순서/공백이 달라도 DTO 경로와 같은 참조)
+     */
+    public String refFor(String resourceJson) throws JsonProcessingException {
+        String ref = cached(resourceJson);
+        if (ref != null) {
+            return ref;
+        }
+        Map<String, Object> resource = objectMapper.readValue(resourceJson, RESOURCE_TYPE);
+        return define(resourceJson, canonicalMapper.writeValueAsString(resource));
+    }
+
+    /**
+     * 아직 Redis에 쓰지 않은 정의를 모두 꺼냄 (Coalescer 스레드에서 호출)
+     */
+    public List<ResourceDefinition> drainPending() {
+        List<ResourceDefinition> definitions = new ArrayList<>();
+        ResourceDefinition definition;
+        while ((definition = pending.poll()) != null) {
+            definitions.add(definition);
+        }
+        return definitions;
+    }
+
+    private String cached(Object key) {
+        synchronized (refs) {
+            return refs.get(key);
+        }
+    }
+
+    private String define(Object key, String json) {
+        String ref = hash(json);
+        synchronized (refs) {
+            // 같은 resource를 동시에 처음 본 요청이 여럿이어도 정의는 한 번만 보냄
+            if (!refs.containsKey(key)) {
+                // 순서 중요: 캐시에 참조가 보이는 순간 다른 요청이 그 참조로 XADD할 수 있음
+                pending.add(new ResourceDefinition(ref, json));
+                refs.put(key, ref);
+            }
+        }
+        return ref;
+    }
+
+    private static String hash(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            byte[] ref = new byte[REF_BYTES];
+            System.arraycopy(digest, 0, ref, 0, REF_BYTES);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ref);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record ResourceDefinition(String ref, String json) {
+    }
+}
@@ -0,0 +1,59 @@
+package kr.java.minyeonglogapi.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * projectId → Redis Stream 키 라우팅
+ * - shards가 1이면 redis.stream.key 하나만 사용 (기존 단일 Stream과 호환)
+ * - shards가 N이면 projectId 해시로 {key}:0 ~ {key}:N-1 중 하나를 선택
+ * 같은 프로젝트는 항상 같은 Stream으로 가므로 프로젝트 단위 순서는 유지됨
+ * resource 사전은 샤드와 무관하게 {key}:resources Hash 하나에 저장
+ * log-worker의 redis.stream.key / redis.stream.shards와 같은 값을 써야 함
+ */
+@Slf4j
+@Component
+public class LogStreamShards {
+
+    @Value("${redis.stream.key:log-stream}")
+    private String baseKey;
+
+    @Value("${redis.stream.shards:1}")
+    private int shardCount;
+
+    private String[] keys;
+    private String resourceKey;
+
+    @PostConstruct
+    public void init() {
+        if (shardCount <= 0) {
+            log.warn("Invalid stream shard count: {}. Resetting to 1.", shardCount);
+            shardCount = 1;
+        }
+        keys = new String[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            keys[i] = shardCount == 1 ? baseKey : baseKey + ":" + i;
+        }
+        resourceKey = baseKey + ":resources";
+    }
+
+    public List<String> keys() {
+        return List.of(keys);
+    }
+
+    public String resourceKey() {
+        return resourceKey;
+    }
+
+    public String keyFor(String projectId) {
+        if (keys.length == 1 || projectId == null) {
+            return keys[0];
+        }
+        // String.hashCode는 JVM과 무관하게 고정된 값이므로 인스턴스가 여러 대여도 같은 샤드로 감
+        return keys[Math.floorMod(projectId.hashCode(), keys.length)];
+    }
+}
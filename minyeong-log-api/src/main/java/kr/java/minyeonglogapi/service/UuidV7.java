@@ -0,0 +1,50 @@
+package kr.java.minyeonglogapi.service;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순 UUIDv7 (RFC 9562) 생성기 - 수신 시점에 로그마다 logId 부여용
+ * - 상위 48비트 unix ms + 12비트 카운터(rand_a) + 62비트 난수(rand_b)
+ * - 같은 ms 안에서는 카운터를 올려 단조 증가 보장 (카운터가 넘치면 다음 ms 값을 미리 사용)
+ * log-worker의 UuidV7과 같은 방식 (worker는 logId가 없을 때만 직접 생성)
+ */
+public final class UuidV7 {
+
+    private static final long VERSION_BITS = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // (unix ms << 12) | counter - 마지막으로 발급한 값
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long next = nextTimeAndCounter(LAST, System.currentTimeMillis());
+        long msb = ((next >>> 12) << 16) | VERSION_BITS | (next & 0xFFF);
+        long lsb = VARIANT_BITS | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    static long nextTimeAndCounter(AtomicLong state, long nowMillis) {
+        long candidate = nowMillis << 12;
+        while (true) {
+            long last = state.get();
+            // 시계가 그대로거나 뒤로 간 경우에도 직전 값보다 크게
+            long next = candidate > last ? candidate : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * UUIDv7에 들어있는 생성 시각 (unix ms)
+     */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,353 @@
+package kr.java.minyeonglogapi.spool;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Redis가 느리거나 죽었을 때 로그를 보관하는 로컬 Write-Ahead Log
+ * - 고정 크기 세그먼트 파일을 메모리 매핑해서 순서대로 append만 함
+ * - 프레임 = [length(int)][crc32(int)][payload], length 0은 세그먼트의 끝
+ * - 읽은 위치는 checkpoint 파일에 기록하고, 다 읽은 세그먼트는 삭제
+ * - 쓰기는 Coalescer 스레드, 읽기는 Replayer 스레드만 수행
+ */
+@Slf4j
+@Component
+public class LogSpool {
+
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int CHECKPOINT_BYTES = 16;
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "spool.checkpoint";
+
+    @Value("${log.spool.dir:./spool}")
+    private String spoolDir;
+
+    @Value("${log.spool.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    // 세그먼트 파일 전체 크기 한도 (넘으면 append 실패 → 클라이언트에 5xx)
+    @Value("${log.spool.max-bytes:1073741824}")
+    private long maxBytes;
+
+    // 프레임마다 디스크까지 flush 할지 여부 (false면 프로세스 크래시까지만 보장)
+    @Value("${log.spool.fsync:true}")
+    private boolean fsync;
+
+    private Path directory;
+    private MappedByteBuffer checkpoint;
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+
+    private long readSegment;
+    private int readOffset;
+    private MappedByteBuffer readBuffer;
+
+    // 아직 Redis로 재전송되지 않은 바이트 수 (Coalescer가 락 없이 확인)
+    private volatile long backlogBytes;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Path.of(spoolDir);
+        Files.createDirectories(directory);
+        checkpoint = map(directory.resolve(CHECKPOINT_FILE), CHECKPOINT_BYTES);
+
+        List<Long> segments = listSegments();
+        if (segments.isEmpty()) {
+            writeSegment = 0;
+            writeBuffer = mapSegment(writeSegment);
+            readSegment = 0;
+            readOffset = 0;
+        } else {
+            writeSegment = segments.get(segments.size() - 1);
+            writeBuffer = mapSegment(writeSegment);
+            recoverWritePosition();
+            restoreReadPosition(segments.get(0));
+        }
+        readBuffer = readSegment == writeSegment ? writeBuffer : mapSegment(readSegment);
+        backlogBytes = computeBacklogBytes();
+
+        if (backlogBytes > 0) {
+            log.warn("[Spool] Recovered {} bytes of logs not yet replayed to Redis (segment {} offset {})",
+                    backlogBytes, readSegment, readOffset);
+        }
+    }
+
+    public boolean hasBacklog() {
+        return backlogBytes > 0;
+    }
+
+    public long getBacklogBytes() {
+        return backlogBytes;
+    }
+
+    /**
+     * 레코드 묶음을 하나의 프레임으로 기록
+     */
+    public synchronized void append(List<SpoolRecord> records) throws IOException {
+        byte[] payload = encode(records);
+        int frameBytes = FRAME_HEADER_BYTES + payload.length;
+        if (frameBytes > segmentBytes) {
+            throw new IOException("Spool frame of " + frameBytes + " bytes exceeds segment size " + segmentBytes);
+        }
+
+        if (writeBuffer.position() + frameBytes > segmentBytes) {
+            rollSegment();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int start = writeBuffer.position();
+        writeBuffer.putInt(payload.length);
+        writeBuffer.putInt((int) crc.getValue());
+        writeBuffer.put(payload);
+        if (fsync) {
+            writeBuffer.force(start, frameBytes);
+        }
+        backlogBytes += frameBytes;
+    }
+
+    /**
+     * 읽기 위치부터 최대 maxRecords 만큼 읽음 (commit 전까지 읽기 위치는 그대로)
+     */
+    public synchronized SpoolBatch read(int maxRecords) throws IOException {
+        List<SpoolRecord> records = new ArrayList<>();
+        long segment = readSegment;
+        int offset = readOffset;
+        ByteBuffer buffer = readBuffer;
+        int consumedBytes = 0;
+
+        while (records.size() < maxRecords) {
+            int end = segment == writeSegment ? writeBuffer.position() : segmentBytes;
+            int length = offset + FRAME_HEADER_BYTES <= end ? buffer.getInt(offset) : 0;
+
+            if (length <= 0) {
+                if (segment == writeSegment) {
+                    break; // 아직 기록된 프레임이 더 없음
+                }
+                // 이전 세그먼트의 끝 → 다음 세그먼트로 이동
+                segment++;
+                offset = 0;
+                buffer = segment == writeSegment ? writeBuffer : mapSegment(segment);
+                continue;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(offset + FRAME_HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                throw new IOException("Corrupted spool frame at segment " + segment + " offset " + offset);
+            }
+
+            records.addAll(decode(payload));
+            offset += FRAME_HEADER_BYTES + length;
+            consumedBytes += FRAME_HEADER_BYTES + length;
+        }
+        return new SpoolBatch(records, segment, offset, consumedBytes);
+    }
+
+    /**
+     * Redis 전송이 끝난 배치까지 읽기 위치를 옮기고 다 읽은 세그먼트를 삭제
+     */
+    public synchronized void commit(SpoolBatch batch) throws IOException {
+        long previousSegment = readSegment;
+        readSegment = batch.segment();
+        readOffset = batch.offset();
+        if (readSegment != previousSegment) {
+            readBuffer = readSegment == writeSegment ? writeBuffer : mapSegment(readSegment);
+        }
+        writeCheckpoint();
+
+        for (long segment = previousSegment; segment < readSegment; segment++) {
+            Files.deleteIfExists(segmentPath(segment));
+        }
+        backlogBytes = Math.max(0, backlogBytes - batch.consumedBytes());
+    }
+
+    private void rollSegment() throws IOException {
+        long segmentCount = writeSegment - readSegment + 2;
+        if (segmentCount * segmentBytes > maxBytes) {
+            throw new IOException("Spool is full (" + maxBytes + " bytes)");
+        }
+        writeBuffer.force();
+        writeSegment++;
+        writeBuffer = mapSegment(writeSegment);
+        log.info("[Spool] Rolled to segment {}", writeSegment);
+    }
+
+    // 마지막 세그먼트를 처음부터 검증하면서 유효한 프레임의 끝을 찾고, 그 뒤(찢어진 프레임)는 0으로 지움
+    private void recoverWritePosition() {
+        int offset = 0;
+        while (offset + FRAME_HEADER_BYTES <= segmentBytes) {
+            int length = writeBuffer.getInt(offset);
+            if (length <= 0 || offset + FRAME_HEADER_BYTES + length > segmentBytes) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            writeBuffer.get(offset + FRAME_HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != writeBuffer.getInt(offset + 4)) {
+                log.warn("[Spool] Discarding torn frame at segment {} offset {}", writeSegment, offset);
+                break;
+            }
+            offset += FRAME_HEADER_BYTES + length;
+        }
+        for (int i = offset; i < segmentBytes && writeBuffer.get(i) != 0; i++) {
+            writeBuffer.put(i, (byte) 0);
+        }
+        writeBuffer.position(offset);
+    }
+
+    private void restoreReadPosition(long oldestSegment) {
+        long savedSegment = checkpoint.getLong(0);
+        int savedOffset = checkpoint.getInt(8);
+        int savedCrc = checkpoint.getInt(12);
+        if (savedCrc == checkpointCrc(savedSegment, savedOffset) && savedSegment >= oldestSegment
+                && savedSegment <= writeSegment) {
+            readSegment = savedSegment;
+            readOffset = savedOffset;
+        } else {
+            // checkpoint가 없거나 깨졌으면 남아있는 가장 오래된 세그먼트부터 다시 읽음 (중복 가능, 유실 없음)
+            readSegment = oldestSegment;
+            readOffset = 0;
+        }
+    }
+
+    private long computeBacklogBytes() throws IOException {
+        if (readSegment == writeSegment) {
+            return writeBuffer.position() - readOffset;
+        }
+        long total = usedBytes(readBuffer) - readOffset;
+        for (long segment = readSegment + 1; segment < writeSegment; segment++) {
+            total += usedBytes(mapSegment(segment));
+        }
+        return total + writeBuffer.position();
+    }
+
+    private int usedBytes(ByteBuffer buffer) {
+        int offset = 0;
+        while (offset + FRAME_HEADER_BYTES <= segmentBytes) {
+            int length = buffer.getInt(offset);
+            if (length <= 0) {
+                break;
+            }
+            offset += FRAME_HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private void writeCheckpoint() {
+        checkpoint.putLong(0, readSegment);
+        checkpoint.putInt(8, readOffset);
+        checkpoint.putInt(12, checkpointCrc(readSegment, readOffset));
+        if (fsync) {
+            checkpoint.force();
+        }
+    }
+
+    private int checkpointCrc(long segment, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(12).putLong(segment).putInt(offset).array());
+        return (int) crc.getValue();
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private MappedByteBuffer mapSegment(long segment) throws IOException {
+        return map(segmentPath(segment), segmentBytes);
+    }
+
+    private MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private byte[] encode(List<SpoolRecord> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(records.size());
+        for (SpoolRecord record : records) {
+            writeString(out, record.streamKey());
+            out.writeInt(record.fields().size());
+            for (Map.Entry<String, String> field : record.fields().entrySet()) {
+                writeString(out, field.getKey());
+                writeString(out, field.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<SpoolRecord> decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        int count = in.getInt();
+        List<SpoolRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String streamKey = readString(in);
+            int fieldCount = in.getInt();
+            Map<String, String> fields = new HashMap<>(fieldCount * 4 / 3 + 1);
+            for (int j = 0; j < fieldCount; j++) {
+                fields.put(readString(in), readString(in));
+            }
+            records.add(new SpoolRecord(streamKey, fields));
+        }
+        return records;
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * read() 결과: 레코드와 commit 시 옮겨갈 읽기 위치
+     */
+    public record SpoolBatch(List<SpoolRecord> records, long segment, int offset, int consumedBytes) {
+
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package kr.java.minyeonglogapi.spool;
+
+import kr.java.minyeonglogapi.service.LogBatchCoalescer;
+import kr.java.minyeonglogapi.service.LogStreamShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spool에 쌓인 로그를 기록된 순서대로 Redis Stream에 재전송
+ * 재전송이 끝까지 성공해서 Spool이 비면 Coalescer를 정상(직접 전송) 모드로 되돌림
+ * XADD 직후 commit 전에 죽으면 재시작 후 같은 배치를 다시 보냄 (at-least-once)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogSpoolReplayer {
+
+    private final LogSpool logSpool;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LogBatchCoalescer logBatchCoalescer;
+    private final LogStreamShards logStreamShards;
+
+    @Value("${log.spool.replay-batch-size:2000}")
+    private int replayBatchSize;
+
+    @Scheduled(fixedDelayString = "${log.spool.replay-interval-ms:1000}")
+    public void replay() {
+        if (!logSpool.hasBacklog()) {
+            logBatchCoalescer.markRecovered();
+            return;
+        }
+
+        int replayed = 0;
+        try {
+            while (logSpool.hasBacklog()) {
+                LogSpool.SpoolBatch batch = logSpool.read(replayBatchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringRedisConn = (StringRedisConnection) connection;
+                    for (SpoolRecord record : batch.records()) {
+                        if (record.streamKey().equals(logStreamShards.resourceKey())) {
+                            // resource 사전 정의 (같은 배치의 뒤따르는 로그보다 먼저 기록됨)
+                            record.fields().forEach((ref, json) ->
+                                    stringRedisConn.hSetNX(record.streamKey(), ref, json));
+                        } else {
+                            stringRedisConn.xAdd(record.streamKey(), record.fields());
+                        }
+                    }
+                    return null;
+                });
+
+                logSpool.commit(batch);
+                replayed += batch.records().size();
+            }
+
+            if (!logSpool.hasBacklog()) {
+                logBatchCoalescer.markRecovered();
+            }
+        } catch (Exception e) {
+            log.warn("[Spool] Replay stopped after {} logs, Redis is still unavailable: {}", replayed, e.getMessage());
+        }
+
+        if (replayed > 0) {
+            log.info("[Spool] Replayed {} logs to Redis Stream (remaining {} bytes)",
+                    replayed, logSpool.getBacklogBytes());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package kr.java.minyeonglogapi.spool;
+
+import java.util.Map;
+
+/**
+ * Spool에 보관되는 Stream 레코드 한 건 (XADD 대상 Stream 키 + 필드)
+ */
+public record SpoolRecord(String streamKey, Map<String, String> fields) {
+}
@@ -0,0 +1,108 @@
+package kr.java.minyeonglogapi.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectRateLimiterTest {
+
+    private ProjectRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setDefaultRate(1);
+        properties.setDefaultBurst(3);
+        limiter = new ProjectRateLimiter(properties);
+        limiter.init();
+    }
+
+    @Test
+    @DisplayName("쓰이지 않고 토큰이 가득 찬 버킷만 정리해야 한다")
+    void evictIdleBuckets_shouldRemoveOnlyFullIdleBuckets() throws InterruptedException {
+        // given
+        limiter = new ProjectRateLimiter(properties(1_000_000, 3, 1));
+        limiter.init();
+        limiter.tryAcquire("idle", 1);
+        Thread.sleep(5);
+        limiter.updateLimit("drained", 0.001, 3);
+        limiter.tryAcquire("drained", 3);
+
+        // when
+        limiter.evictIdleBuckets();
+
+        // then - idle은 다시 가득 차서 정리되고, drained는 토큰이 비어 있어 남음
+        assertThat(limiter.getBucketCount()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("drained", 1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("버킷 수가 한도에 닿으면 새 프로젝트는 공용 버킷을 함께 써야 한다")
+    void tryAcquire_shouldShareOverflowBucketWhenFull() {
+        // given
+        AdmissionProperties properties = properties(1, 3, 60_000);
+        properties.setMaxBuckets(2);
+        limiter = new ProjectRateLimiter(properties);
+        limiter.init();
+        limiter.tryAcquire("p1", 1);
+        limiter.tryAcquire("p2", 1);
+
+        // when - 한도를 넘은 뒤의 임의 projectId들은 하나의 버킷을 나눠 씀
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("random-" + i, 1)).isZero();
+        }
+
+        // then
+        assertThat(limiter.tryAcquire("random-3", 1)).isPositive();
+        assertThat(limiter.getBucketCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("burst를 다 쓰면 Retry-After 초와 함께 거절해야 한다")
+    void tryAcquire_shouldRejectAfterBurst() {
+        assertThat(limiter.tryAcquire("noisy", 3)).isZero();
+        assertThat(limiter.tryAcquire("noisy", 1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("한 프로젝트가 제한에 걸려도 다른 프로젝트는 영향이 없어야 한다")
+    void tryAcquire_shouldIsolateProjects() {
+        limiter.tryAcquire("noisy", 3);
+
+        assertThat(limiter.tryAcquire("noisy", 1)).isPositive();
+        assertThat(limiter.tryAcquire("quiet", 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("런타임에 변경한 제한이 즉시 적용되어야 한다")
+    void updateLimit_shouldApplyAtRuntime() throws InterruptedException {
+        limiter.tryAcquire("noisy", 3);
+        limiter.updateLimit("noisy", 1_000_000, 10);
+        Thread.sleep(5);
+
+        // 버킷 토큰은 그대로지만 rate가 커져서 곧바로 다시 채워짐
+        assertThat(limiter.getLimit("noisy").getBurst()).isEqualTo(10);
+        assertThat(limiter.tryAcquire("noisy", 5)).isZero();
+    }
+
+    @Test
+    @DisplayName("Stream 적체로 factor가 0이 되면 토큰이 다시 채워지지 않아야 한다")
+    void tryAcquire_shouldTightenUnderPressure() {
+        limiter.updateLimit("noisy", 1_000_000, 1);
+        limiter.setPressureFactor(0.0);
+
+        limiter.tryAcquire("noisy", 1);
+
+        assertThat(limiter.tryAcquire("noisy", 1)).isPositive();
+    }
+
+    private static AdmissionProperties properties(double rate, double burst, long bucketIdleMs) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setDefaultRate(rate);
+        properties.setDefaultBurst(burst);
+        properties.setBucketIdleMs(bucketIdleMs);
+        return properties;
+    }
+}
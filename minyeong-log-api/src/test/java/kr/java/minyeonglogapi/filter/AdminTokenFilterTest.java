@@ -0,0 +1,92 @@
+package kr.java.minyeonglogapi.filter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminTokenFilterTest {
+
+    private AdminTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdminTokenFilter();
+        ReflectionTestUtils.setField(filter, "adminToken", "secret");
+    }
+
+    @Test
+    @DisplayName("토큰 없이 관리 API를 호출하면 401로 응답해야 한다")
+    void doFilter_shouldRejectMissingToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(adminRequest("DELETE", null), response, failingChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("토큰이 틀리면 401로 응답해야 한다")
+    void doFilter_shouldRejectWrongToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(adminRequest("PUT", "guess"), response, failingChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("토큰이 일치하면 관리 API로 통과시켜야 한다")
+    void doFilter_shouldPassValidToken() throws Exception {
+        AtomicBoolean passed = new AtomicBoolean();
+
+        filter.doFilter(adminRequest("PUT", "secret"), new MockHttpServletResponse(), (req, res) -> passed.set(true));
+
+        assertThat(passed).isTrue();
+    }
+
+    @Test
+    @DisplayName("관리자 토큰이 설정되지 않았으면 관리 API를 막아야 한다")
+    void doFilter_shouldDisableAdminApiWithoutConfiguredToken() throws Exception {
+        ReflectionTestUtils.setField(filter, "adminToken", "");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(adminRequest("GET", ""), response, failingChain());
+
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("로그 수신 API는 토큰 검사 대상이 아니어야 한다")
+    void doFilter_shouldIgnoreIngestApi() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs/batch");
+        request.setServletPath("/api/logs/batch");
+        AtomicBoolean passed = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> passed.set(true));
+
+        assertThat(passed).isTrue();
+    }
+
+    private MockHttpServletRequest adminRequest(String method, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/admin/rate-limits/p");
+        request.setServletPath("/api/admin/rate-limits/p");
+        if (token != null) {
+            request.addHeader(AdminTokenFilter.ADMIN_TOKEN_HEADER, token);
+        }
+        return request;
+    }
+
+    private FilterChain failingChain() {
+        return (req, res) -> {
+            throw new AssertionError("chain must not be called");
+        };
+    }
+}
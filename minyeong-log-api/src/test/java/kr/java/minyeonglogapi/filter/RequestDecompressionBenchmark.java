@@ -0,0 +1,135 @@
+package kr.java.minyeonglogapi.filter;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 요청 Body 압축 해제 비용 vs 전송량 절감 벤치마크
+ * 실행: ./gradlew benchmark
+ *
+ * 게임 클라이언트가 보내는 형태(같은 resource, 반복되는 severity)의 배치를 만들어
+ * 인코딩별 크기, 배치당 해제 시간, 업링크 대역폭별 전송 시간을 비교
+ */
+@Tag("benchmark")
+class RequestDecompressionBenchmark {
+
+    private static final int[] BATCH_SIZES = {100, 1_000, 10_000};
+    private static final double[] UPLINK_MBPS = {5, 20, 100};
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURE_ITERATIONS = 200;
+    private static final int DECODE_BUFFER_SIZE = 16 * 1024;
+
+    @Test
+    void compareDecodeCostWithTransferSavings() throws Exception {
+        for (int batchSize : BATCH_SIZES) {
+            byte[] plain = sampleBatch(batchSize);
+            byte[] gzip = gzip(plain);
+            byte[] zstd = Zstd.compress(plain, 3);
+
+            System.out.printf("%n=== batch of %,d logs (%,d bytes plain) ===%n", batchSize, plain.length);
+            System.out.printf("%-8s %12s %7s %14s", "encoding", "bytes", "ratio", "decode(us)");
+            for (double mbps : UPLINK_MBPS) {
+                System.out.printf(" %16s", String.format("xfer@%.0fMbps(ms)", mbps));
+            }
+            System.out.println();
+
+            report("identity", plain.length, plain.length, 0);
+            report("gzip", plain.length, gzip.length, measureDecodeMicros(() -> gzipStream(gzip)));
+            report("zstd", plain.length, zstd.length, measureDecodeMicros(() -> zstdStream(zstd)));
+        }
+    }
+
+    private void report(String encoding, int plainBytes, int encodedBytes, double decodeMicros) {
+        System.out.printf("%-8s %,12d %6.1fx %14.1f", encoding, encodedBytes,
+                (double) plainBytes / encodedBytes, decodeMicros);
+        for (double mbps : UPLINK_MBPS) {
+            double transferMs = encodedBytes * 8 / (mbps * 1_000_000) * 1_000;
+            System.out.printf(" %16.2f", transferMs);
+        }
+        System.out.println();
+    }
+
+    private double measureDecodeMicros(StreamFactory factory) throws IOException {
+        byte[] sink = new byte[DECODE_BUFFER_SIZE];
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += drain(factory.open(), sink);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            checksum += drain(factory.open(), sink);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("nothing decoded");
+        }
+        return elapsed / 1_000.0 / MEASURE_ITERATIONS;
+    }
+
+    private long drain(InputStream in, byte[] sink) throws IOException {
+        long total = 0;
+        try (in) {
+            int n;
+            while ((n = in.read(sink)) != -1) {
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    // 필터와 같은 방식으로 스트림을 구성
+    private InputStream gzipStream(byte[] encoded) throws IOException {
+        return new GZIPInputStream(new ByteArrayInputStream(encoded), DECODE_BUFFER_SIZE);
+    }
+
+    private InputStream zstdStream(byte[] encoded) throws IOException {
+        return new BufferedInputStream(new ZstdInputStream(new ByteArrayInputStream(encoded)), DECODE_BUFFER_SIZE);
+    }
+
+    private byte[] sampleBatch(int size) {
+        String[] severities = {"INFO", "INFO", "INFO", "WARN", "ERROR", "DEBUG"};
+        StringBuilder json = new StringBuilder(size * 400).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"projectId\":\"project-42\",\"sessionId\":\"session-").append(i / 50)
+                    .append("\",\"userId\":\"user-").append(i % 97)
+                    .append("\",\"severity\":\"").append(severities[i % severities.length])
+                    .append("\",\"body\":\"Stage ").append(i % 12).append(" cleared in ").append(1000 + i * 7 % 9000)
+                    .append("ms with score ").append(i * 31 % 100000)
+                    .append("\",\"occurredAt\":\"2026-01-01T00:").append(String.format("%02d:%02d", i / 60 % 60, i % 60))
+                    .append(".").append(String.format("%03d", i % 1000)).append("Z\"")
+                    .append(",\"traceId\":\"").append(Long.toHexString(0x9e3779b97f4a7c15L * (i + 1)))
+                    .append("\",\"resource\":{\"device.model\":\"SM-S918N\",\"os.name\":\"Android\",\"os.version\":\"14\",")
+                    .append("\"app.version\":\"1.8.3\",\"app.build\":\"20260101.3\",\"locale\":\"ko-KR\"}")
+                    .append(",\"attributes\":{\"fps\":").append(30 + i % 31).append(",\"stage\":").append(i % 12)
+                    .append(",\"memory.mb\":").append(800 + i % 200).append("}}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] gzip(byte[] plain) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(plain);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface StreamFactory {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,102 @@
+package kr.java.minyeonglogapi.filter;
+
+import com.github.luben.zstd.Zstd;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDecompressionFilterTest {
+
+    private static final String BODY = "[{\"projectId\":\"p\",\"body\":\"hello\"}]";
+
+    private RequestDecompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestDecompressionFilter();
+        ReflectionTestUtils.setField(filter, "maxDecompressedBytes", 1024L);
+    }
+
+    @Test
+    @DisplayName("gzip Body를 해제하고 Content-Encoding 헤더를 숨겨야 한다")
+    void doFilter_shouldDecodeGzip() throws Exception {
+        MockHttpServletRequest request = compressedRequest("gzip", gzip(BODY));
+
+        AtomicReference<String> received = new AtomicReference<>();
+        AtomicReference<String> encodingSeen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), readingChain(received, encodingSeen));
+
+        assertThat(received.get()).isEqualTo(BODY);
+        assertThat(encodingSeen.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("zstd Body를 해제해야 한다")
+    void doFilter_shouldDecodeZstd() throws Exception {
+        MockHttpServletRequest request = compressedRequest("zstd", Zstd.compress(BODY.getBytes(StandardCharsets.UTF_8)));
+
+        AtomicReference<String> received = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), readingChain(received, new AtomicReference<>()));
+
+        assertThat(received.get()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 인코딩은 415로 응답해야 한다")
+    void doFilter_shouldRejectUnsupportedEncoding() throws Exception {
+        MockHttpServletRequest request = compressedRequest("br", new byte[]{1, 2, 3});
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            throw new AssertionError("chain must not be called");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(415);
+    }
+
+    @Test
+    @DisplayName("해제 후 크기가 한도를 넘으면 예외가 발생해야 한다")
+    void doFilter_shouldLimitDecompressedSize() throws Exception {
+        MockHttpServletRequest request = compressedRequest("gzip", gzip("x".repeat(4096)));
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(),
+                readingChain(new AtomicReference<>(), new AtomicReference<>())))
+                .isInstanceOf(DecompressedBodyTooLargeException.class);
+    }
+
+    private MockHttpServletRequest compressedRequest(String encoding, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/logs/batch");
+        request.addHeader("Content-Encoding", encoding);
+        request.setContentType("application/json");
+        request.setContent(body);
+        return request;
+    }
+
+    private FilterChain readingChain(AtomicReference<String> body, AtomicReference<String> encoding) {
+        return (req, res) -> {
+            encoding.set(((HttpServletRequest) req).getHeader("Content-Encoding"));
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        };
+    }
+
+    private byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+package kr.java.minyeonglogapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameLogBinaryReaderTest {
+
+    private static final List<String> FIELDS = List.of(
+            LogRecordCodec.PROJECT_ID, LogRecordCodec.SESSION_ID, LogRecordCodec.USER_ID,
+            LogRecordCodec.SEVERITY, LogRecordCodec.BODY, LogRecordCodec.OCCURRED_AT,
+            LogRecordCodec.TRACE_ID, LogRecordCodec.SPAN_ID, LogRecordCodec.RESOURCE,
+            LogRecordCodec.ATTRIBUTES);
+
+    @Test
+    @DisplayName("있는 필드만 디코딩하고 수신 시각을 붙여야 한다")
+    void next_shouldDecodePresentFields() throws Exception {
+        // given
+        byte[] body = encode(
+                Map.of(LogRecordCodec.PROJECT_ID, "p1",
+                        LogRecordCodec.BODY, "플레이어 접속",
+                        LogRecordCodec.RESOURCE, "{\"os\":\"android\"}"),
+                Map.of(LogRecordCodec.PROJECT_ID, "p2", LogRecordCodec.SEVERITY, "ERROR"));
+        GameLogBinaryReader reader = new GameLogBinaryReader(new ByteArrayInputStream(body), "now");
+
+        // when
+        Map<String, String> first = reader.next();
+        Map<String, String> second = reader.next();
+
+        // then - logId는 레코드마다 새로 부여된 UUIDv7
+        assertThat(UUID.fromString(first.remove(LogRecordCodec.LOG_ID)).version()).isEqualTo(7);
+        assertThat(second.get(LogRecordCodec.LOG_ID)).isNotNull();
+        assertThat(first).containsOnly(
+                Map.entry(LogRecordCodec.PROJECT_ID, "p1"),
+                Map.entry(LogRecordCodec.BODY, "플레이어 접속"),
+                Map.entry(LogRecordCodec.RESOURCE, "{\"os\":\"android\"}"),
+                Map.entry(LogRecordCodec.INGESTED_AT, "now"));
+        assertThat(second).containsEntry(LogRecordCodec.SEVERITY, "ERROR")
+                .doesNotContainKey(LogRecordCodec.BODY);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("헤더가 없거나 레코드가 잘리면 형식 오류로 처리해야 한다")
+    void next_shouldRejectMalformedBody() {
+        byte[] body = encode(Map.of(LogRecordCodec.PROJECT_ID, "p1"));
+        byte[] truncated = Arrays.copyOf(body, body.length - 1);
+
+        assertThatThrownBy(() -> new GameLogBinaryReader(new ByteArrayInputStream("[{}]".getBytes()), "now").next())
+                .isInstanceOf(InvalidBinaryLogException.class);
+        assertThatThrownBy(() -> new GameLogBinaryReader(new ByteArrayInputStream(truncated), "now").next())
+                .isInstanceOf(InvalidBinaryLogException.class);
+    }
+
+    @Test
+    @DisplayName("resource가 JSON 객체 형태가 아니면 형식 오류로 처리해야 한다")
+    void next_shouldRejectNonObjectResource() {
+        byte[] body = encode(Map.of(LogRecordCodec.PROJECT_ID, "p1", LogRecordCodec.RESOURCE, "[1,2]"));
+
+        assertThatThrownBy(() -> new GameLogBinaryReader(new ByteArrayInputStream(body), "now").next())
+                .isInstanceOf(InvalidBinaryLogException.class);
+    }
+
+    // SDK 쪽 인코더와 같은 규칙으로 Body를 만듦
+    @SafeVarargs
+    static byte[] encode(Map<String, String>... records) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("GLB1".getBytes(StandardCharsets.US_ASCII));
+        for (Map<String, String> record : records) {
+            ByteArrayOutputStream fields = new ByteArrayOutputStream();
+            int presence = 0;
+            for (int bit = 0; bit < FIELDS.size(); bit++) {
+                if (record.containsKey(FIELDS.get(bit))) {
+                    presence |= 1 << bit;
+                }
+            }
+            writeVarint(fields, presence);
+            for (String field : FIELDS) {
+                String value = record.get(field);
+                if (value != null) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    writeVarint(fields, bytes.length);
+                    fields.writeBytes(bytes);
+                }
+            }
+            writeVarint(out, fields.size());
+            out.writeBytes(fields.toByteArray());
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,224 @@
+package kr.java.minyeonglogapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.java.minyeonglogapi.metrics.LogProducerMetrics;
+import kr.java.minyeonglogapi.spool.LogSpool;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LogBatchCoalescerTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private LogSpool logSpool;
+
+    private final StringRedisConnection connection = mock(StringRedisConnection.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LogResourceDictionary logResourceDictionary = new LogResourceDictionary(new ObjectMapper());
+
+    private LogBatchCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        }).when(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+
+        LogStreamShards logStreamShards = new LogStreamShards();
+        ReflectionTestUtils.setField(logStreamShards, "baseKey", "log-stream");
+        ReflectionTestUtils.setField(logStreamShards, "shardCount", 1);
+        logStreamShards.init();
+
+        logResourceDictionary.init();
+
+        coalescer = new LogBatchCoalescer(stringRedisTemplate, logSpool, logStreamShards,
+                new LogProducerMetrics(meterRegistry), logResourceDictionary);
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(coalescer, "lingerMs", 200L);
+        ReflectionTestUtils.setField(coalescer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(coalescer, "latencyBudgetMs", 5_000L);
+        coalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.stop();
+    }
+
+    @Test
+    @DisplayName("linger 시간 안에 들어온 여러 요청을 하나의 Pipeline으로 보내야 한다")
+    void submit_shouldCoalesceConcurrentRequests() throws Exception {
+        // when
+        CompletableFuture<Void> first = coalescer.submit(List.of(record("a"), record("b")));
+        CompletableFuture<Void> second = coalescer.submit(List.of(record("c")));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // then
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(connection, times(3)).xAdd(eq("log-stream"), anyMap());
+        DistributionSummary batchSize = meterRegistry.get("log.producer.batch.size").summary();
+        assertThat(batchSize.count()).isEqualTo(1);
+        assertThat(batchSize.totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("log.producer.bytes.written").counter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("maxBatchSize에 도달하면 linger를 기다리지 않고 바로 보내야 한다")
+    void submit_shouldFlushWhenBatchIsFull() throws Exception {
+        // given
+        ReflectionTestUtils.setField(coalescer, "lingerMs", 60_000L);
+        List<Map<String, String>> full = IntStream.range(0, 100)
+                .mapToObj(i -> record("log-" + i))
+                .toList();
+
+        // when
+        coalescer.submit(full).get(5, TimeUnit.SECONDS);
+
+        // then
+        verify(connection, times(100)).xAdd(eq("log-stream"), anyMap());
+    }
+
+    @Test
+    @DisplayName("새 resource 정의는 같은 Pipeline에서 XADD보다 먼저 한 번만 기록해야 한다")
+    void submit_shouldWriteResourceDefinitionsBeforeRecords() throws Exception {
+        // given
+        String ref = logResourceDictionary.refFor("{\"os\":\"android\"}");
+        logResourceDictionary.refFor("{\"os\":\"android\"}");
+
+        // when
+        coalescer.submit(List.of(record("a"))).get(5, TimeUnit.SECONDS);
+        coalescer.submit(List.of(record("b"))).get(5, TimeUnit.SECONDS);
+
+        // then
+        InOrder inOrder = inOrder(connection);
+        inOrder.verify(connection).hSetNX("log-stream:resources", ref, "{\"os\":\"android\"}");
+        inOrder.verify(connection, times(2)).xAdd(eq("log-stream"), anyMap());
+        verify(connection, times(1)).hSetNX(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Redis 전송이 실패하면 Spool에 기록하고 이후 배치도 Spool로 보내야 한다")
+    void submit_shouldSpoolWhenPipelineFails() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            throw new IllegalStateException("redis down");
+        }).when(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+
+        // when
+        coalescer.submit(List.of(record("a"))).get(5, TimeUnit.SECONDS);
+        coalescer.submit(List.of(record("b"))).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(coalescer.isDegraded()).isTrue();
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(logSpool, times(2)).append(anyList());
+    }
+
+    @Test
+    @DisplayName("Spool 기록까지 실패하면 요청의 Future도 실패해야 한다")
+    void submit_shouldFailFutureWhenSpoolFails() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            throw new IllegalStateException("redis down");
+        }).when(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        doThrow(new IOException("disk full")).when(logSpool).append(anyList());
+
+        // when
+        CompletableFuture<Void> future = coalescer.submit(List.of(record("a")));
+
+        // then
+        assertThat(future).failsWithin(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Spool에서 런타임 예외가 나도 요청의 Future는 실패로 완료되어야 한다")
+    void submit_shouldFailFutureWhenSpoolThrowsRuntimeException() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            throw new IllegalStateException("redis down");
+        }).when(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        doThrow(new IllegalStateException("segment closed")).when(logSpool).append(anyList());
+
+        // when
+        CompletableFuture<Void> future = coalescer.submit(List.of(record("a")));
+
+        // then
+        assertThat(future).failsWithin(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("종료 중에 들어온 요청도 성공이든 실패든 반드시 완료되어야 한다")
+    void submit_shouldCompleteEveryFutureSubmittedDuringStop() throws Exception {
+        // given - 종료와 동시에 계속 요청을 넣는 스레드
+        List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+        CountDownLatch submitting = new CountDownLatch(1);
+        AtomicBoolean stopped = new AtomicBoolean();
+        Thread submitter = new Thread(() -> {
+            while (!stopped.get()) {
+                futures.add(coalescer.submit(List.of(record("a"))));
+                submitting.countDown();
+            }
+        });
+        submitter.start();
+        submitting.await(5, TimeUnit.SECONDS);
+
+        // when
+        coalescer.stop();
+        stopped.set(true);
+        submitter.join();
+
+        // then
+        assertThat(futures).isNotEmpty();
+        CompletableFuture<?> all = CompletableFuture.allOf(futures.stream()
+                .map(future -> future.handle((result, error) -> null))
+                .toArray(CompletableFuture[]::new));
+        assertThat(all).succeedsWithin(5, TimeUnit.SECONDS);
+    }
+
+    private Map<String, String> record(String body) {
+        return Map.of("projectId", "project-1", "body", body);
+    }
+}
@@ -0,0 +1,259 @@
+package kr.java.minyeonglogapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.java.minyeonglogapi.admission.ProjectRateLimiter;
+import kr.java.minyeonglogapi.admission.RateLimitExceededException;
+import kr.java.minyeonglogapi.dto.GameLogDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LogIngestServiceTest {
+
+    @Mock
+    private LogProducerService logProducerService;
+
+    @Mock
+    private ProjectRateLimiter projectRateLimiter;
+
+    private LogIngestService logIngestService;
+
+    @BeforeEach
+    void setUp() {
+        logIngestService = new LogIngestService(new ObjectMapper(), logProducerService, projectRateLimiter);
+        ReflectionTestUtils.setField(logIngestService, "chunkSize", 2);
+        ReflectionTestUtils.setField(logIngestService, "maxInflightChunks", 2);
+        logIngestService.init();
+    }
+
+    @Test
+    @DisplayName("배열을 chunkSize 단위로 나누어 전송해야 한다")
+    void ingestJsonArray_shouldSendInChunks() throws Exception {
+        // given
+        List<List<String>> sentChunks = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<GameLogDto> chunk = invocation.getArgument(0);
+            sentChunks.add(chunk.stream().map(GameLogDto::getBody).toList());
+            return CompletableFuture.completedFuture(null);
+        }).when(logProducerService).sendLogsInBatch(anyList());
+
+        String json = "[" +
+                "{\"projectId\":\"p\",\"body\":\"b1\",\"resource\":{\"os\":\"android\"}}," +
+                "{\"projectId\":\"p\",\"body\":\"b2\"}," +
+                "{\"projectId\":\"p\",\"body\":\"b3\",\"unknown\":[1,2]}," +
+                "{\"projectId\":\"p\",\"body\":\"b4\"}," +
+                "{\"projectId\":\"p\",\"body\":\"b5\"}" +
+                "]";
+
+        // when
+        int received = logIngestService.ingestJsonArray(toStream(json));
+
+        // then
+        assertThat(received).isEqualTo(5);
+        assertThat(sentChunks).containsExactly(
+                List.of("b1", "b2"),
+                List.of("b3", "b4"),
+                List.of("b5"));
+    }
+
+    @Test
+    @DisplayName("기록을 기다리는 chunk가 한도에 닿으면 가장 오래된 chunk가 기록된 뒤에 다음 chunk를 보내야 한다")
+    void ingestJsonArray_shouldBoundInflightChunks() throws Exception {
+        // given - 보낸 chunk는 테스트가 완료시키기 전까지 기록 대기
+        List<CompletableFuture<Void>> writes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            CompletableFuture<Void> write = new CompletableFuture<>();
+            writes.add(write);
+            return write;
+        }).when(logProducerService).sendLogsInBatch(anyList());
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 6; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"projectId\":\"p\",\"body\":\"b").append(i).append("\"}");
+        }
+        json.append("]");
+
+        // when
+        CompletableFuture<Integer> received = CompletableFuture.supplyAsync(() -> {
+            try {
+                return logIngestService.ingestJsonArray(toStream(json.toString()));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // then - 2개가 대기 중이면 세 번째 chunk는 첫 chunk 기록 전까지 보내지 않음
+        verify(logProducerService, timeout(5000).times(2)).sendLogsInBatch(anyList());
+        Thread.sleep(100);
+        verify(logProducerService, times(2)).sendLogsInBatch(anyList());
+
+        writes.get(0).complete(null);
+        verify(logProducerService, timeout(5000).times(3)).sendLogsInBatch(anyList());
+
+        writes.get(1).complete(null);
+        writes.get(2).complete(null);
+        assertThat(received.get(5, TimeUnit.SECONDS)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("빈 배열이나 null이면 전송하지 않고 0을 반환해야 한다")
+    void ingestJsonArray_shouldReturnZeroForEmptyBody() throws Exception {
+        assertThat(logIngestService.ingestJsonArray(toStream("[]"))).isZero();
+        assertThat(logIngestService.ingestJsonArray(toStream("null"))).isZero();
+        assertThat(logIngestService.ingestJsonArray(toStream(""))).isZero();
+
+        verify(logProducerService, never()).sendLogsInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("배열이 아닌 Body는 형식 오류로 처리해야 한다")
+    void ingestJsonArray_shouldRejectNonArray() {
+        assertThatThrownBy(() -> logIngestService.ingestJsonArray(toStream("{\"body\":\"b1\"}")))
+                .isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> logIngestService.ingestJsonArray(toStream("[1, 2]")))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    @DisplayName("배열 뒤에 다른 내용이 붙은 Body는 마지막 Chunk를 보내지 않고 형식 오류로 처리해야 한다")
+    void ingestJsonArray_shouldRejectTrailingContent() {
+        String logs = "[{\"projectId\":\"p\",\"body\":\"b1\"}]";
+
+        assertThatThrownBy(() -> logIngestService.ingestJsonArray(toStream(logs + " garbage")))
+                .isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> logIngestService.ingestJsonArray(toStream(logs + logs)))
+                .isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> logIngestService.ingestJsonArray(toStream("null {}")))
+                .isInstanceOf(JsonProcessingException.class);
+
+        verify(logProducerService, never()).sendLogsInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("수신량 제한에 걸리면 앞의 로그만 기록하고 기록된 개수와 함께 예외가 발생해야 한다")
+    void ingestJsonArray_shouldStopAtRateLimit() {
+        // given
+        when(projectRateLimiter.tryAcquire(eq("p"), anyInt())).thenReturn(0L, 3L);
+        when(logProducerService.sendLogsInBatch(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        String json = "[" +
+                "{\"projectId\":\"p\",\"body\":\"b1\"}," +
+                "{\"projectId\":\"p\",\"body\":\"b2\"}," +
+                "{\"projectId\":\"p\",\"body\":\"b3\"}," +
+                "{\"projectId\":\"p\",\"body\":\"b4\"}" +
+                "]";
+
+        // when & then
+        assertThatThrownBy(() -> logIngestService.ingestJsonArray(toStream(json)))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+                    assertThat(e.getAcceptedCount()).isEqualTo(2);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(3);
+                });
+        verify(logProducerService, times(1)).sendLogsInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("수신량 토큰은 로그마다가 아니라 chunk 안에서 같은 프로젝트가 이어진 구간마다 한 번에 받아야 한다")
+    void ingestJsonArray_shouldAcquirePermitsPerProjectRun() throws Exception {
+        // given
+        ReflectionTestUtils.setField(logIngestService, "chunkSize", 4);
+        when(logProducerService.sendLogsInBatch(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        String json = "[" +
+                "{\"projectId\":\"a\",\"body\":\"b1\"}," +
+                "{\"projectId\":\"a\",\"body\":\"b2\"}," +
+                "{\"projectId\":\"b\",\"body\":\"b3\"}," +
+                "{\"projectId\":\"a\",\"body\":\"b4\"}," +
+                "{\"projectId\":\"a\",\"body\":\"b5\"}" +
+                "]";
+
+        // when
+        int received = logIngestService.ingestJsonArray(toStream(json));
+
+        // then - chunk 1: [a a][b][a], chunk 2: [a]
+        assertThat(received).isEqualTo(5);
+        verify(projectRateLimiter).tryAcquire("a", 2);
+        verify(projectRateLimiter).tryAcquire("b", 1);
+        verify(projectRateLimiter, times(2)).tryAcquire("a", 1);
+    }
+
+    @Test
+    @DisplayName("NDJSON은 빈 줄을 건너뛰며 한 줄씩 chunk로 전송해야 한다")
+    void ingestNdjson_shouldSendInChunks() throws Exception {
+        // given
+        List<List<String>> sentChunks = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<GameLogDto> chunk = invocation.getArgument(0);
+            sentChunks.add(chunk.stream().map(GameLogDto::getBody).toList());
+            return CompletableFuture.completedFuture(null);
+        }).when(logProducerService).sendLogsInBatch(anyList());
+
+        String ndjson = "{\"projectId\":\"p\",\"body\":\"b1\"}\n" +
+                "{\"projectId\":\"p\",\"body\":\"b2\"}\n" +
+                "\n" +
+                "{\"projectId\":\"p\",\"body\":\"b3\"}\n";
+
+        // when
+        int received = logIngestService.ingestNdjson(toStream(ndjson));
+
+        // then
+        assertThat(received).isEqualTo(3);
+        assertThat(sentChunks).containsExactly(List.of("b1", "b2"), List.of("b3"));
+    }
+
+    @Test
+    @DisplayName("바이너리 Body는 디코딩된 레코드 그대로 chunk로 전송해야 한다")
+    void ingestBinary_shouldSendDecodedRecords() throws Exception {
+        // given
+        List<List<String>> sentChunks = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Map<String, String>> chunk = invocation.getArgument(0);
+            sentChunks.add(chunk.stream().map(r -> r.get(LogRecordCodec.BODY)).toList());
+            return CompletableFuture.completedFuture(null);
+        }).when(logProducerService).sendRecords(anyList());
+
+        byte[] body = GameLogBinaryReaderTest.encode(
+                Map.of(LogRecordCodec.PROJECT_ID, "p", LogRecordCodec.BODY, "b1"),
+                Map.of(LogRecordCodec.PROJECT_ID, "p", LogRecordCodec.BODY, "b2"),
+                Map.of(LogRecordCodec.PROJECT_ID, "p", LogRecordCodec.BODY, "b3"));
+
+        // when
+        int received = logIngestService.ingestBinary(new ByteArrayInputStream(body));
+
+        // then
+        assertThat(received).isEqualTo(3);
+        assertThat(sentChunks).containsExactly(List.of("b1", "b2"), List.of("b3"));
+        verify(projectRateLimiter).tryAcquire("p", 2);
+        verify(projectRateLimiter).tryAcquire("p", 1);
+    }
+
+    private InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package kr.java.minyeonglogapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.java.minyeonglogapi.dto.GameLogDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRecordCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LogResourceDictionary logResourceDictionary = new LogResourceDictionary(objectMapper);
+    private final LogRecordCodec logRecordCodec = new LogRecordCodec(objectMapper, logResourceDictionary);
+
+    @BeforeEach
+    void setUp() {
+        logResourceDictionary.init();
+    }
+
+    @Test
+    @DisplayName("고정 필드는 평탄화하고 resource는 사전 참조로 바꿔야 한다")
+    void encode_shouldFlattenFields() throws Exception {
+        // given
+        GameLogDto dto = objectMapper.readValue("{" +
+                "\"projectId\":\"project-1\",\"sessionId\":\"session-1\",\"severity\":\"ERROR\"," +
+                "\"body\":\"boom\",\"occurredAt\":\"2026-01-01T00:00:00Z\"," +
+                "\"resource\":{\"os\":\"android\"},\"attributes\":{}" +
+                "}", GameLogDto.class);
+
+        // when
+        Map<String, String> record = logRecordCodec.encode(dto, "2026-01-01T00:00:01Z");
+
+        // then (필드 이름은 log-worker와의 계약이므로 문자열로 고정해서 검증)
+        assertThat(UUID.fromString(record.remove("logId")).version()).isEqualTo(7);
+        assertThat(record).containsOnly(
+                Map.entry("projectId", "project-1"),
+                Map.entry("sessionId", "session-1"),
+                Map.entry("severity", "ERROR"),
+                Map.entry("body", "boom"),
+                Map.entry("occurredAt", "2026-01-01T00:00:00Z"),
+                Map.entry("ingestedAt", "2026-01-01T00:00:01Z"),
+                Map.entry("resourceRef", logResourceDictionary.refFor("{\"os\":\"android\"}")));
+    }
+
+    @Test
+    @DisplayName("같은 내용의 로그라도 로그마다 다른 logId를 부여해야 한다")
+    void encode_shouldAssignLogIdPerLog() throws Exception {
+        // given
+        GameLogDto dto = objectMapper.readValue("{\"projectId\":\"project-1\",\"body\":\"boom\"}", GameLogDto.class);
+
+        // when
+        Map<String, String> first = logRecordCodec.encode(dto, "now");
+        Map<String, String> second = logRecordCodec.encode(dto, "now");
+
+        // then - 인코딩 이후의 Spool/재전송은 이 값을 그대로 들고 감
+        assertThat(first.get("logId")).isNotEqualTo(second.get("logId"));
+    }
+}
@@ -0,0 +1,83 @@
+package kr.java.minyeonglogapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.java.minyeonglogapi.service.LogResourceDictionary.ResourceDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogResourceDictionaryTest {
+
+    private final LogResourceDictionary logResourceDictionary = new LogResourceDictionary(new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(logResourceDictionary, "cacheSize", 2);
+        logResourceDictionary.init();
+    }
+
+    @Test
+    @DisplayName("키 순서와 무관하게 같은 resource는 같은 참조이고 정의는 한 번만 보내야 한다")
+    void refFor_shouldDefineOncePerResource() throws Exception {
+        // given
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("os", "android");
+        first.put("device", "SM-S918N");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("device", "SM-S918N");
+        reordered.put("os", "android");
+
+        // when
+        String ref = logResourceDictionary.refFor(first);
+        String again = logResourceDictionary.refFor(reordered);
+
+        // then
+        assertThat(again).isEqualTo(ref);
+        assertThat(ref).hasSize(22);
+        assertThat(logResourceDictionary.drainPending())
+                .containsExactly(new ResourceDefinition(ref, "{\"device\":\"SM-S918N\",\"os\":\"android\"}"));
+        assertThat(logResourceDictionary.drainPending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시에서 밀려난 resource를 다시 보면 정의를 다시 보내야 한다")
+    void refFor_shouldRedefineEvictedResource() throws Exception {
+        // given
+        String ref = logResourceDictionary.refFor("{\"os\":\"android\"}");
+        logResourceDictionary.refFor("{\"os\":\"ios\"}");
+        logResourceDictionary.refFor("{\"os\":\"windows\"}");
+        logResourceDictionary.drainPending();
+
+        // when
+        String again = logResourceDictionary.refFor("{\"os\":\"android\"}");
+
+        // then
+        assertThat(again).isEqualTo(ref);
+        assertThat(logResourceDictionary.drainPending()).extracting(ResourceDefinition::ref).containsExactly(ref);
+    }
+
+    @Test
+    @DisplayName("바이너리 경로의 JSON 문자열도 키 순서/공백과 무관하게 DTO 경로와 같은 참조여야 한다")
+    void refFor_shouldCanonicalizeRawJson() throws Exception {
+        // given
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("os", "android");
+        resource.put("device", "SM-S918N");
+
+        // when
+        String fromDto = logResourceDictionary.refFor(resource);
+        String fromBinary = logResourceDictionary.refFor("{ \"os\": \"android\", \"device\": \"SM-S918N\" }");
+
+        // then
+        assertThat(fromBinary).isEqualTo(fromDto);
+        assertThat(logResourceDictionary.drainPending())
+                .extracting(ResourceDefinition::json)
+                .containsOnly("{\"device\":\"SM-S918N\",\"os\":\"android\"}");
+    }
+}
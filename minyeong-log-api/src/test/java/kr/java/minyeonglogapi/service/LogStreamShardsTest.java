@@ -0,0 +1,44 @@
+package kr.java.minyeonglogapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogStreamShardsTest {
+
+    @Test
+    @DisplayName("샤드가 1개면 기존 단일 Stream 키를 그대로 사용해야 한다")
+    void keyFor_shouldUseBaseKeyWithSingleShard() {
+        LogStreamShards shards = shards(1);
+
+        assertThat(shards.keyFor("project-1")).isEqualTo("log-stream");
+        assertThat(shards.keyFor(null)).isEqualTo("log-stream");
+    }
+
+    @Test
+    @DisplayName("같은 프로젝트는 항상 같은 샤드로, 프로젝트들은 여러 샤드로 분산되어야 한다")
+    void keyFor_shouldRouteByProjectId() {
+        LogStreamShards shards = shards(4);
+
+        assertThat(shards.keyFor("project-1")).isEqualTo(shards.keyFor("project-1"));
+
+        Set<String> used = IntStream.range(0, 100)
+                .mapToObj(i -> shards.keyFor("project-" + i))
+                .collect(Collectors.toSet());
+        assertThat(used).containsExactlyInAnyOrder("log-stream:0", "log-stream:1", "log-stream:2", "log-stream:3");
+    }
+
+    private LogStreamShards shards(int count) {
+        LogStreamShards shards = new LogStreamShards();
+        ReflectionTestUtils.setField(shards, "baseKey", "log-stream");
+        ReflectionTestUtils.setField(shards, "shardCount", count);
+        shards.init();
+        return shards;
+    }
+}
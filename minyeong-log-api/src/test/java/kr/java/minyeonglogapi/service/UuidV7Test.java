@@ -0,0 +1,39 @@
+package kr.java.minyeonglogapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("버전 7 / RFC 9562 variant와 현재 시각을 담아야 한다")
+    void generate_shouldEncodeVersionVariantAndTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("같은 ms 안에서도, 시계가 뒤로 가도 단조 증가해야 한다")
+    void nextTimeAndCounter_shouldBeMonotonic() {
+        AtomicLong state = new AtomicLong();
+
+        long first = UuidV7.nextTimeAndCounter(state, 1_000);
+        long second = UuidV7.nextTimeAndCounter(state, 1_000);
+        long afterClockSkew = UuidV7.nextTimeAndCounter(state, 999);
+        long nextMillis = UuidV7.nextTimeAndCounter(state, 1_001);
+
+        assertThat(first).isEqualTo(1_000L << 12);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(afterClockSkew).isEqualTo(second + 1);
+        assertThat(nextMillis).isEqualTo(1_001L << 12);
+    }
+}
@@ -0,0 +1,98 @@
+package kr.java.minyeonglogapi.spool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSpoolTest {
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    @DisplayName("기록한 순서대로 읽고 commit 후에는 backlog가 비어야 한다")
+    void appendAndRead_shouldKeepOrder() throws Exception {
+        // given
+        LogSpool spool = open(4096);
+        spool.append(List.of(record("a"), record("b")));
+        spool.append(List.of(record("c")));
+
+        // when
+        LogSpool.SpoolBatch batch = spool.read(100);
+        spool.commit(batch);
+
+        // then
+        assertThat(batch.records()).extracting(r -> r.fields().get("body")).containsExactly("a", "b", "c");
+        assertThat(batch.records().get(0).streamKey()).isEqualTo("log-stream");
+        assertThat(spool.hasBacklog()).isFalse();
+    }
+
+    @Test
+    @DisplayName("재시작하면 commit 되지 않은 로그부터 다시 읽어야 한다")
+    void reopen_shouldResumeFromCheckpoint() throws Exception {
+        // given
+        LogSpool spool = open(4096);
+        spool.append(List.of(record("a")));
+        spool.append(List.of(record("b")));
+        LogSpool.SpoolBatch first = spool.read(1);
+        spool.commit(first);
+
+        // when
+        LogSpool reopened = open(4096);
+
+        // then
+        assertThat(reopened.hasBacklog()).isTrue();
+        assertThat(reopened.read(100).records()).extracting(r -> r.fields().get("body")).containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고 다 읽은 세그먼트는 삭제해야 한다")
+    void append_shouldRollSegments() throws Exception {
+        // given
+        LogSpool spool = open(256);
+        List<String> bodies = IntStream.range(0, 20).mapToObj(i -> "log-" + i).toList();
+        for (String body : bodies) {
+            spool.append(List.of(record(body)));
+        }
+        assertThat(segmentCount()).isGreaterThan(1);
+
+        // when
+        LogSpool.SpoolBatch batch = spool.read(100);
+        spool.commit(batch);
+
+        // then
+        assertThat(batch.records()).extracting(r -> r.fields().get("body")).containsExactlyElementsOf(bodies);
+        assertThat(segmentCount()).isEqualTo(1);
+        assertThat(spool.hasBacklog()).isFalse();
+    }
+
+    private LogSpool open(int segmentBytes) throws Exception {
+        LogSpool spool = new LogSpool();
+        ReflectionTestUtils.setField(spool, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(spool, "segmentBytes", segmentBytes);
+        ReflectionTestUtils.setField(spool, "maxBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(spool, "fsync", false);
+        spool.init();
+        return spool;
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    private SpoolRecord record(String body) {
+        return new SpoolRecord("log-stream", Map.of("projectId", "project-1", "body", body));
+    }
+}